@@ -0,0 +1,151 @@
+package org.wso2.mgw.spring;
+
+import org.wso2.mgw.spring.exception.CLIExecutorException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer of the phases of a gateway build, which enforces the total time budget of the build. The durations of the
+ * phases are reported when a budget is exceeded.
+ */
+public class BuildTimer {
+    private final long startTime = System.nanoTime();
+    private final long totalBudget;
+    private final List<Phase> phases = new ArrayList<>();
+    private String currentPhase;
+    private long phaseStartTime;
+
+    /**
+     * Start the timer of a build.
+     *
+     * @param totalBudget total time budget of the build in seconds, or zero if the build has no time budget
+     */
+    public BuildTimer(long totalBudget) {
+        this.totalBudget = TimeUnit.SECONDS.toNanos(totalBudget);
+    }
+
+    /**
+     * Start timing a phase, finishing the current phase if any.
+     *
+     * @param phase phase name
+     */
+    public synchronized void startPhase(String phase) {
+        finishPhase();
+        currentPhase = phase;
+        phaseStartTime = System.nanoTime();
+    }
+
+    /**
+     * Finish timing the current phase.
+     */
+    public synchronized void finishPhase() {
+        if (currentPhase != null) {
+            phases.add(new Phase(currentPhase, System.nanoTime() - phaseStartTime, false));
+            currentPhase = null;
+        }
+    }
+
+    /**
+     * Record the sub phases of the last finished phase, eg: the phases reported by the toolkit.
+     *
+     * @param durations durations of the sub phases in milliseconds
+     */
+    public synchronized void addSubPhases(Map<String, Long> durations) {
+        durations.forEach((phase, duration) -> phases.add(new Phase(phase, TimeUnit.MILLISECONDS.toNanos(duration),
+                true)));
+    }
+
+    /**
+     * Returns the time a phase can take, which is the budget of the phase limited by the rest of the total budget.
+     *
+     * @param phaseBudget time budget of the phase in seconds, or zero if the phase has no time budget
+     * @return timeout in milliseconds, or zero if the phase has no time limit
+     * @throws CLIExecutorException if the total budget is already exceeded
+     */
+    public long getTimeout(long phaseBudget) throws CLIExecutorException {
+        checkTotalBudget();
+        long timeout = TimeUnit.SECONDS.toMillis(phaseBudget);
+        long remaining = getRemainingBudget();
+        if (remaining > 0) {
+            timeout = timeout > 0 ? Math.min(timeout, remaining) : remaining;
+        }
+        return timeout;
+    }
+
+    /**
+     * Returns the rest of the total budget, eg: to bound the scan or the generation of the definitions.
+     *
+     * @return remaining time in milliseconds, at least one, or zero if the build has no time budget
+     */
+    public long getRemainingBudget() {
+        if (totalBudget <= 0) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(getRemainingTime()));
+    }
+
+    /**
+     * Check whether the total budget is exceeded.
+     *
+     * @throws CLIExecutorException with the durations of the phases if the total budget is exceeded
+     */
+    public void checkTotalBudget() throws CLIExecutorException {
+        if (totalBudget > 0 && getRemainingTime() <= 0) {
+            throw new CLIExecutorException("The gateway build exceeded its total time budget of "
+                    + TimeUnit.NANOSECONDS.toSeconds(totalBudget) + " s. " + getReport());
+        }
+    }
+
+    /**
+     * Returns whether the total budget is exceeded.
+     *
+     * @return true if the total budget is exceeded
+     */
+    public boolean isTotalBudgetExceeded() {
+        return totalBudget > 0 && getRemainingTime() <= 0;
+    }
+
+    /**
+     * Returns the durations of the finished phases and of the current phase.
+     *
+     * @return report of the durations
+     */
+    public synchronized String getReport() {
+        StringBuilder report = new StringBuilder("Time spent :");
+        List<Phase> reportedPhases = new ArrayList<>(phases);
+        if (currentPhase != null) {
+            reportedPhases.add(new Phase(currentPhase + " (not finished)", System.nanoTime() - phaseStartTime,
+                    false));
+        }
+        for (Phase phase : reportedPhases) {
+            report.append(System.lineSeparator()).append(phase.subPhase ? "        " : "    ").append(phase.name)
+                    .append(" : ").append(formatDuration(phase.duration));
+        }
+        report.append(System.lineSeparator()).append("    total : ")
+                .append(formatDuration(System.nanoTime() - startTime));
+        return report.toString();
+    }
+
+    private long getRemainingTime() {
+        return totalBudget - (System.nanoTime() - startTime);
+    }
+
+    private static String formatDuration(long nanos) {
+        return String.format("%.1f s", nanos / 1e9);
+    }
+
+    private static class Phase {
+        private final String name;
+        private final long duration;
+        private final boolean subPhase;
+
+        private Phase(String name, long duration, boolean subPhase) {
+            this.name = name;
+            this.duration = duration;
+            this.subPhase = subPhase;
+        }
+    }
+}
@@ -4,83 +4,364 @@ import io.swagger.v3.oas.models.OpenAPI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.mgw.spring.constants.CLIConstants;
+import org.wso2.mgw.spring.constants.PluginConstants;
 import org.wso2.mgw.spring.exception.CLIExecutorException;
+import org.wso2.mgw.spring.loggers.BuildEvent;
+import org.wso2.mgw.spring.loggers.BuildEventParser;
 import org.wso2.mgw.spring.loggers.CLILogReader;
+import org.wso2.mgw.spring.models.ConfigModel;
 import org.wso2.mgw.spring.utils.ConverterUtils;
+import org.wso2.mgw.spring.utils.FileUtils;
+import org.wso2.mgw.spring.utils.HashUtils;
+import org.wso2.mgw.spring.utils.ProcessUtils;
+import org.wso2.mgw.spring.utils.ToolkitUtils;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Builds the micro gateway of a module with the toolkit. An executor holds the state of a single build, and changes
+ * no JVM wide state, hence the modules of a parallel build are built concurrently by separate executors.
+ */
 public class CLIExecutor {
     private static final Logger log = LoggerFactory.getLogger(CLIExecutor.class);
+    private static final long LOG_DRAIN_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+    private static final long STALE_TEMP_PROJECT_AGE = TimeUnit.HOURS.toMillis(1);
+    private static final String INITIALIZED_MARKER_EXTENSION = ".initialized";
     private String homeDirectory;
     private String cliHome;
-    private static CLIExecutor instance;
+    private Path targetDirectory;
+    private String mgwCommand;
+    private String definitionFormat;
+    private int savedDefinitionCount;
+    private Path definitionsDirectory;
+    private GatewayArtifactCache artifactCache;
+    private boolean abortOnBuildError;
+    private int initTimeout;
+    private int buildTimeout;
+    private BuildTimer buildTimer;
+    private ProjectTemplateCache projectTemplateCache;
+    private Map<String, String> toolkitEnvironment;
+    private String jvmOptions;
+    private ClassDataSharingArchive classDataSharingArchive;
+    private Path cacheDirectory;
+    private boolean useToolkitCache;
+    private ToolkitHomeSlot toolkitHomeSlot;
 
-    public static CLIExecutor getInstance() {
-        if (instance == null) {
-            instance = new CLIExecutor();
+    /**
+     * Initialize the executor of a module.
+     *
+     * @param cliHome         micro gateway toolkit home
+     * @param targetDirectory target directory of the module, in which the toolkit project is built
+     */
+    public CLIExecutor(String cliHome, Path targetDirectory) {
+        this.cliHome = cliHome;
+        this.targetDirectory = targetDirectory;
+    }
+
+    /**
+     * Prepare the background environment, to which the definitions are saved afterwards. The project itself is
+     * initialized only when it has to be built. The toolkit commands are timed by the given timer, which enforces
+     * the total time budget of the build.
+     *
+     * @param project     project name
+     * @param configModel plugin configuration
+     * @param buildTimer  timer of the build
+     * @throws CLIExecutorException if the background environment cannot be created
+     */
+    public void initProject(String project, ConfigModel configModel, BuildTimer buildTimer)
+            throws CLIExecutorException {
+        this.buildTimer = buildTimer;
+        createBackgroundEnv();
+        mgwCommand = this.cliHome + File.separator + CLIConstants.CLI_BIN + File.separator + "micro-gw";
+        definitionFormat = PluginConstants.OPENAPI_FORMAT_JSON.equalsIgnoreCase(configModel.getOpenAPIFormat()) ?
+                PluginConstants.OPENAPI_FORMAT_JSON : PluginConstants.OPENAPI_FORMAT_YAML;
+        savedDefinitionCount = 0;
+        definitionsDirectory = Paths.get(homeDirectory, CLIConstants.PROJECT_API_DEFINITIONS_DIR);
+        try {
+            // The definitions of the previous build are left behind if it failed before moving them to the project
+            FileUtils.deleteRecursively(definitionsDirectory);
+            Files.createDirectories(definitionsDirectory);
+        } catch (IOException e) {
+            throw new CLIExecutorException("Error while creating the directory " + definitionsDirectory, e);
         }
-        return instance;
+        artifactCache = configModel.isUseArtifactCache() ? new GatewayArtifactCache(
+                Paths.get(configModel.getCacheDirectory()), configModel.getArtifactCacheSize() * 1024L * 1024L) :
+                null;
+        projectTemplateCache = configModel.isUseProjectTemplate() ? new ProjectTemplateCache(
+                Paths.get(configModel.getCacheDirectory()), ToolkitUtils.getToolkitVersion(cliHome)) : null;
+        initToolkitEnvironment(configModel);
+        abortOnBuildError = configModel.isAbortOnBuildError();
+        initTimeout = configModel.getInitTimeout();
+        buildTimeout = configModel.getBuildTimeout();
     }
 
-    private CLIExecutor() {
-        cliHome = System.getProperty(CLIConstants.SYSTEM_PROP_TOOLKIT);
+    /**
+     * Prepare the environment of the toolkit processes, which consists of the toolkit and java homes and the
+     * configured environment variables. The configured JVM options and the options of the class data sharing
+     * archive are appended to the JAVA_OPTS variable, which is read by the toolkit script.
+     *
+     * @param configModel plugin configuration
+     */
+    private void initToolkitEnvironment(ConfigModel configModel) {
+        toolkitEnvironment = new TreeMap<>();
+        toolkitEnvironment.put("JAVA_HOME", System.getenv("JAVA_HOME"));
+        if (configModel.getEnvironmentVariables() != null) {
+            toolkitEnvironment.putAll(configModel.getEnvironmentVariables());
+        }
+        toolkitEnvironment.put("MICROGW_HOME", cliHome);
+        jvmOptions = configModel.getJvmOptions();
+        cacheDirectory = Paths.get(configModel.getCacheDirectory());
+        useToolkitCache = configModel.isUseToolkitCache();
+        String javaHome = toolkitEnvironment.get("JAVA_HOME");
+        classDataSharingArchive = configModel.isUseClassDataSharing() && javaHome != null ?
+                new ClassDataSharingArchive(cacheDirectory, ToolkitUtils.getToolkitVersion(cliHome), javaHome) : null;
     }
 
     /**
-     * Generate the project using developer first approach (Using OpenAPI definitions).
+     * Returns the environment of a toolkit process.
      *
-     * @param project          project name
-     * @param apiBuilders relative paths of openAPI definitions stored in resources directory.
-     * @throws CLIExecutorException
+     * @param command toolkit command, eg: build
+     * @return environment variables in the name=value format
      */
-    public void generateFromDefinition(String project, List<OpenAPI> apiBuilders)
-            throws CLIExecutorException {
+    private String[] getToolkitEnvironment(String command) {
+        List<String> javaOptions = new ArrayList<>();
+        String inheritedJavaOptions = toolkitEnvironment.get("JAVA_OPTS");
+        if (inheritedJavaOptions != null && !inheritedJavaOptions.trim().isEmpty()) {
+            javaOptions.add(inheritedJavaOptions.trim());
+        }
+        if (toolkitHomeSlot != null) {
+            javaOptions.add("-Duser.home=" + toolkitHomeSlot.getDirectory());
+        }
+        if (jvmOptions != null && !jvmOptions.trim().isEmpty()) {
+            javaOptions.add(jvmOptions.trim());
+        }
+        if (classDataSharingArchive != null) {
+            javaOptions.addAll(classDataSharingArchive.getJvmOptions("build".equals(command)));
+        }
+        List<String> environment = new ArrayList<>();
+        toolkitEnvironment.forEach((name, value) -> {
+            if (!"JAVA_OPTS".equals(name)) {
+                environment.add(name + "=" + value);
+            }
+        });
+        if (toolkitHomeSlot != null && !toolkitEnvironment.containsKey("HOME")) {
+            environment.add("HOME=" + toolkitHomeSlot.getDirectory());
+        }
+        if (!javaOptions.isEmpty()) {
+            environment.add("JAVA_OPTS=" + String.join(" ", javaOptions));
+        }
+        return environment.toArray(new String[0]);
+    }
 
-        createBackgroundEnv();
-        String mgwCommand = this.cliHome + File.separator + CLIConstants.CLI_BIN + File.separator + "micro-gw";
-        runInitCmd(mgwCommand, project);
-        saveSwaggerDefinitions(project, apiBuilders);
-        runBuildCmd(mgwCommand, project);
-        copyJarToTarget(project);
+    /**
+     * Build the project with the saved definitions and copy the built jar to the target directory. If a jar built
+     * from the same definitions is in the artifact cache, the cached jar is used instead of building the project.
+     *
+     * @param project    project name
+     * @param gatewayJar path to which the built jar is copied, replacing the jar of a previous build
+     * @throws CLIExecutorException if no definition is saved or the build fails
+     */
+    public void buildProject(String project, Path gatewayJar) throws CLIExecutorException {
+        if (savedDefinitionCount < 1) {
+            throw new CLIExecutorException("No swagger definition is provided to generate API");
+        }
+        String cacheKey = null;
+        if (artifactCache != null) {
+            cacheKey = getArtifactCacheKey(project);
+            if (cacheKey != null && artifactCache.get(cacheKey, gatewayJar)) {
+                log.info("Reused the micro gateway built from the same API definitions from the cache");
+                return;
+            }
+        }
+        // The toolkit caches of the locked home are reused, as no other build uses the home meanwhile
+        toolkitHomeSlot = useToolkitCache ? ToolkitHomeSlot.acquire(cacheDirectory,
+                ToolkitUtils.getToolkitVersion(cliHome)) : null;
+        try {
+            runInitCmd(mgwCommand, project);
+            moveDefinitionsToProject(project);
+            runBuildCmd(mgwCommand, project);
+        } finally {
+            if (toolkitHomeSlot != null) {
+                toolkitHomeSlot.close();
+                toolkitHomeSlot = null;
+            }
+        }
+        copyJarToTarget(project, gatewayJar);
+        if (cacheKey != null) {
+            artifactCache.put(cacheKey, gatewayJar);
+        }
     }
 
+    /**
+     * Returns the hash of the inputs of the toolkit build, which are the saved definitions, the toolkit version
+     * and the project name.
+     *
+     * @param project project name
+     * @return the cache key or null if the saved definitions cannot be read
+     */
+    private String getArtifactCacheKey(String project) {
+        MessageDigest digest = HashUtils.newDigest();
+        digest.update(("toolkit=" + ToolkitUtils.getToolkitVersion(cliHome) + "\nproject=" + project + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        try (Stream<Path> paths = Files.list(definitionsDirectory)) {
+            for (Path definition : paths.sorted().collect(Collectors.toList())) {
+                digest.update((definition.getFileName() + "\n").getBytes(StandardCharsets.UTF_8));
+                digest.update(Files.readAllBytes(definition));
+            }
+        } catch (IOException e) {
+            String message = "Error while reading the API definitions to look up the gateway cache";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+            return null;
+        }
+        return HashUtils.toHex(digest.digest());
+    }
+
+    /**
+     * Prepare the workspace of the module, target/mgw-spring/workspace, which is reused by every build of the module
+     * so that the toolkit builds the project incrementally. The temporary projects created by the earlier versions
+     * of the plugin are deleted.
+     *
+     * @throws CLIExecutorException if the workspace cannot be created
+     */
     private void createBackgroundEnv() throws CLIExecutorException {
-        String baseDir = (System.getProperty(CLIConstants.SYSTEM_PROP_BASE_DIR, ".")) + File.separator + "target";
-        Path path;
+        deleteStaleTempProjects(targetDirectory);
+        Path path = targetDirectory.resolve(PluginConstants.PLUGIN_WORK_DIR)
+                .resolve(PluginConstants.PLUGIN_WORKSPACE_DIR);
         try {
-            path = Files.createTempDirectory(new File(baseDir).toPath(), CLIConstants.SAMPLE_PROJECT_NAME);
+            Files.createDirectories(path);
         } catch (IOException e) {
-            throw new CLIExecutorException("The directory " + baseDir + " does not exist.", e);
+            throw new CLIExecutorException("Error while creating the directory " + path, e);
         }
         log.info("CLI Project Home: " + path.toString());
-        System.setProperty(CLIConstants.CLI_HOME, this.cliHome);
         log.info("CLI Home: " + this.cliHome);
-        System.setProperty("user.dir", path.toString());
         homeDirectory = path.toString();
     }
 
     /**
-     * Initialize the project.
+     * Delete the temporary projects, target/userProject*, which were created for each build by the earlier versions
+     * of the plugin and never deleted. Recently modified projects are kept, as they may belong to a running build.
+     *
+     * @param targetDirectory target directory of the module
+     */
+    private void deleteStaleTempProjects(Path targetDirectory) {
+        if (!Files.isDirectory(targetDirectory)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try (Stream<Path> paths = Files.list(targetDirectory)) {
+            for (Path path : paths.collect(Collectors.toList())) {
+                if (Files.isDirectory(path)
+                        && path.getFileName().toString().startsWith(CLIConstants.SAMPLE_PROJECT_NAME)
+                        && now - Files.getLastModifiedTime(path).toMillis() > STALE_TEMP_PROJECT_AGE) {
+                    FileUtils.deleteRecursively(path);
+                    log.debug("Deleted the stale project " + path);
+                }
+            }
+        } catch (IOException e) {
+            String message = "Error while deleting the stale projects in " + targetDirectory;
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+        }
+    }
+
+    /**
+     * Initialize the project, unless it was initialized by a previous build with the same toolkit version. The
+     * project is copied from the cached skeleton of the toolkit version if possible, otherwise it is initialized by
+     * the toolkit.
      *
      * @param mgwCommand the path of microgateway executable
      * @param project    project name
      * @throws CLIExecutorException
      */
     private void runInitCmd(String mgwCommand, String project) throws CLIExecutorException {
-        String[] initCmdArray = generateBasicCmdArgsBasedOnOS(mgwCommand, "init", project);
-        String initErrorMsg = "Error occurred during initializing the project.";
-        runProcess(initCmdArray, homeDirectory, initErrorMsg);
+        String toolkitVersion = ToolkitUtils.getToolkitVersion(cliHome);
+        Path initializedMarker = Paths.get(homeDirectory, "." + project + INITIALIZED_MARKER_EXTENSION);
+        try {
+            if (Files.isRegularFile(initializedMarker) && Files.isDirectory(Paths.get(homeDirectory, project))
+                    && toolkitVersion.equals(new String(Files.readAllBytes(initializedMarker),
+                    StandardCharsets.UTF_8))) {
+                log.info("Reusing the project '" + project + "' initialized by a previous build");
+                return;
+            }
+            // The project is initialized by another toolkit version, or its initialization did not complete
+            Files.deleteIfExists(initializedMarker);
+            FileUtils.deleteRecursively(Paths.get(homeDirectory, project));
+        } catch (IOException e) {
+            throw new CLIExecutorException("Error while cleaning the project directory of '" + project + "'", e);
+        }
+        if (projectTemplateCache == null || !initFromTemplate(mgwCommand, project)) {
+            String[] initCmdArray = generateBasicCmdArgsBasedOnOS(mgwCommand, "init", project);
+            String initErrorMsg = "Error occurred during initializing the project.";
+            runProcess("init", initCmdArray, homeDirectory, initErrorMsg, initTimeout);
+        }
+        try {
+            Files.write(initializedMarker, toolkitVersion.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            String message = "Error while marking the project '" + project + "' as initialized";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+        }
+    }
+
+    /**
+     * Initialize the project from the cached skeleton of the toolkit version. On the first build with a toolkit
+     * version, the skeleton is recorded by initializing a placeholder project with the toolkit.
+     *
+     * @param mgwCommand the path of microgateway executable
+     * @param project    project name
+     * @return true if the project is initialized, false if it has to be initialized by the toolkit
+     * @throws CLIExecutorException if the toolkit fails to initialize the placeholder project
+     */
+    private boolean initFromTemplate(String mgwCommand, String project) throws CLIExecutorException {
+        if (projectTemplateCache.isUnsupported()) {
+            return false;
+        }
+        if (!projectTemplateCache.isCached()) {
+            Path workingDirectory;
+            try {
+                workingDirectory = projectTemplateCache.createWorkingDirectory();
+            } catch (IOException e) {
+                String message = "Error while creating the directory to record the micro gateway project skeleton";
+                log.warn(message + " : " + e.getMessage());
+                log.debug(message, e);
+                return false;
+            }
+            String[] initCmdArray = generateBasicCmdArgsBasedOnOS(mgwCommand, "init",
+                    ProjectTemplateCache.TEMPLATE_PROJECT_NAME);
+            try {
+                runProcess("init", initCmdArray, workingDirectory.toString(),
+                        "Error occurred during initializing the project.", initTimeout);
+            } catch (CLIExecutorException e) {
+                projectTemplateCache.discard(workingDirectory);
+                throw e;
+            }
+            if (!projectTemplateCache.record(workingDirectory)) {
+                return false;
+            }
+        }
+        if (!projectTemplateCache.copyTo(Paths.get(homeDirectory, project), project)) {
+            return false;
+        }
+        log.info("Initialized the project '" + project + "' from the cached skeleton of the toolkit");
+        return true;
     }
 
     private String[] generateBasicCmdArgsBasedOnOS(String mgwCommand, String mainCommand, String project) {
@@ -91,15 +372,23 @@ public class CLIExecutor {
     }
 
     /**
-     * Save openAPI definition (developer first approach)
+     * Save openAPI definition (developer first approach). The definition is written directly to its file, hence it
+     * can be released once saved. The definitions are moved to the project once it is initialized.
      *
      * @param projectName   project name
-     * @param apiDefinitions api Definition array as String
+     * @param apiDefinition api definition
      */
-    private  void saveSwaggerDefinitions(String projectName, List<OpenAPI> apiDefinitions) throws CLIExecutorException{
-        if (apiDefinitions.size() < 1) {
-            throw new CLIExecutorException("No swagger definition is provided to generate API");
+    public void saveDefinition(String projectName, OpenAPI apiDefinition) throws CLIExecutorException {
+        Path desPath = definitionsDirectory.resolve(apiDefinition.getInfo().getTitle() + "." + definitionFormat);
+        try (Writer writer = Files.newBufferedWriter(desPath, StandardCharsets.UTF_8)) {
+            ConverterUtils.writeOpenAPI(apiDefinition, definitionFormat, writer);
+            savedDefinitionCount++;
+        } catch (IOException e) {
+            throw new CLIExecutorException("Error while copying the swagger to the project directory");
         }
+    }
+
+    private void moveDefinitionsToProject(String projectName) throws CLIExecutorException {
         try {
             Path genPath = Paths.get(getProjectGenDirectoryPath(projectName));
             Path apiDefPath = Paths.get(getProjectGenAPIDefinitionPath(projectName));
@@ -107,15 +396,31 @@ public class CLIExecutor {
                 Files.createDirectory(genPath);
                 Files.createDirectory(apiDefPath);
             }
-
-            for(OpenAPI apiDefinition:apiDefinitions) {
-                File desPath = new File(
-                        homeDirectory + File.separator + projectName + File.separator +
-                                CLIConstants.PROJECT_API_DEFINITIONS_DIR + File.separator + apiDefinition.getInfo().getTitle()+ ".yaml");
-                writeContent(ConverterUtils.getOpenAPIAsString(apiDefinition),  desPath);
+            Path projectDefinitionsPath = Paths.get(homeDirectory, projectName,
+                    CLIConstants.PROJECT_API_DEFINITIONS_DIR);
+            Files.createDirectories(projectDefinitionsPath);
+            // The project is reused across builds, hence the definitions of removed services are deleted and the
+            // unchanged definitions are kept as they are, for the toolkit to build the project incrementally
+            try (Stream<Path> paths = Files.list(projectDefinitionsPath)) {
+                for (Path definition : paths.collect(Collectors.toList())) {
+                    if (Files.notExists(definitionsDirectory.resolve(definition.getFileName()))) {
+                        FileUtils.deleteRecursively(definition);
+                    }
+                }
+            }
+            try (Stream<Path> paths = Files.list(definitionsDirectory)) {
+                for (Path definition : paths.collect(Collectors.toList())) {
+                    Path projectDefinition = projectDefinitionsPath.resolve(definition.getFileName());
+                    if (Files.isRegularFile(projectDefinition) && Arrays.equals(Files.readAllBytes(definition),
+                            Files.readAllBytes(projectDefinition))) {
+                        Files.delete(definition);
+                    } else {
+                        Files.move(definition, projectDefinition, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
             }
         } catch (IOException e) {
-            throw new CLIExecutorException("Error while copying the swagger to the project directory");
+            throw new CLIExecutorException("Error while copying the swagger to the project directory", e);
         }
     }
 
@@ -129,33 +434,90 @@ public class CLIExecutor {
     private void runBuildCmd(String mgwCommand, String project) throws CLIExecutorException {
         String[] buildCmdArray = generateBasicCmdArgsBasedOnOS(mgwCommand, "build", project);
         String buildErrorMsg = "Error occurred when building the project.";
-        runProcess(buildCmdArray, homeDirectory, buildErrorMsg);
+        runProcess("build", buildCmdArray, homeDirectory, buildErrorMsg, buildTimeout);
     }
 
     /**
-     * Run the process.
+     * Run the process. The output of the process is parsed into build events, which log the duration of each
+     * phase. If {@code abortOnBuildError} is set, the process is destroyed as soon as it reports a compile error or
+     * a failed build. If the process exceeds its time budget or the rest of the total budget, the process and the
+     * processes started by it are destroyed.
      *
+     * @param command       toolkit command, eg: build
      * @param cmdArray      array containing all the commandline arguments
      * @param homeDirectory home directory for the process
      * @param errorMessage  error message needs to be printed if any error is occurred
-     * @throws CLIExecutorException
+     * @param timeBudget    time budget of the command in seconds, or zero if the command has no time budget
+     * @throws CLIExecutorException if the process fails or exceeds its time budget
      */
-    private void runProcess(String[] cmdArray, String homeDirectory, String errorMessage) throws CLIExecutorException {
+    private void runProcess(String command, String[] cmdArray, String homeDirectory, String errorMessage,
+            int timeBudget) throws CLIExecutorException {
+        long timeout = buildTimer.getTimeout(timeBudget);
+        buildTimer.startPhase("micro-gw " + command);
+        boolean succeeded = false;
+        Process process = null;
         try {
-            Process process = Runtime.getRuntime().exec(cmdArray, new String[] {"MICROGW_HOME=" + cliHome, "JAVA_HOME="
-                    + System.getenv("JAVA_HOME")}, new File(homeDirectory));
-            new CLILogReader("errorStream", process.getErrorStream()).start();
-            new CLILogReader("inputStream", process.getInputStream()).start();
-            boolean isCompleted = process.waitFor(2, TimeUnit.MINUTES);
+            process = Runtime.getRuntime().exec(cmdArray, getToolkitEnvironment(command), new File(homeDirectory));
+            Process toolkitProcess = process;
+            BuildEventParser eventParser = new BuildEventParser();
+            AtomicBoolean aborted = new AtomicBoolean();
+            if (abortOnBuildError) {
+                eventParser.addListener(event -> {
+                    if (event.isFatal() && toolkitProcess.isAlive() && aborted.compareAndSet(false, true)) {
+                        log.error("Aborting micro-gw " + command + " on " + event.getLine().trim());
+                        ProcessUtils.destroyProcessTree(toolkitProcess);
+                    }
+                });
+            }
+            CLILogReader errorReader = new CLILogReader("errorStream", process.getErrorStream());
+            CLILogReader inputReader = new CLILogReader("inputStream", process.getInputStream());
+            errorReader.setEventParser(eventParser);
+            inputReader.setEventParser(eventParser);
+            errorReader.start();
+            inputReader.start();
+            boolean isCompleted = true;
+            if (timeout > 0) {
+                isCompleted = process.waitFor(timeout, TimeUnit.MILLISECONDS);
+            } else {
+                process.waitFor();
+            }
+            if (!isCompleted) {
+                ProcessUtils.destroyProcessTree(process);
+            }
+            // The output written just before the process exits is still to be logged
+            inputReader.join(LOG_DRAIN_TIMEOUT);
+            errorReader.join(LOG_DRAIN_TIMEOUT);
+            eventParser.finish();
+            eventParser.logSummary(command);
+            buildTimer.finishPhase();
+            buildTimer.addSubPhases(eventParser.getPhaseDurations());
             if (!isCompleted) {
-                throw new RuntimeException(errorMessage);
+                String budget = buildTimer.isTotalBudgetExceeded() ? "the total time budget of the build"
+                        : "its time budget of " + timeBudget + " s";
+                throw new CLIExecutorException(errorMessage + " micro-gw " + command + " exceeded " + budget + ". "
+                        + buildTimer.getReport());
             }
             int processExitCode = process.exitValue();
-            if (processExitCode != 0) {
-                throw new CLIExecutorException(errorMessage);
+            BuildEvent firstError = eventParser.getFirstError();
+            if (processExitCode != 0 || aborted.get()) {
+                throw new CLIExecutorException(firstError != null ? errorMessage + " " + firstError.getLine().trim()
+                        : errorMessage);
+            }
+            succeeded = true;
+        } catch (IOException e) {
+            throw new CLIExecutorException(errorMessage, e);
+        } catch (InterruptedException e) {
+            // The build is cancelled, hence the toolkit should not outlive it
+            if (process != null) {
+                ProcessUtils.destroyProcessTree(process);
             }
-        } catch (IOException | InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new CLIExecutorException(errorMessage, e);
+        } finally {
+            buildTimer.finishPhase();
+            if (classDataSharingArchive != null) {
+                classDataSharingArchive.onToolkitExit(succeeded);
+            }
         }
     }
 
@@ -169,27 +531,12 @@ public class CLIExecutor {
         return System.getProperty("os.name");
     }
 
-    /**
-     * Write content to a specified file
-     *
-     * @param content content to be written
-     * @param file    file object initialized with path
-     * @throws IOException error while writing content to file
-     */
-    public static void writeContent(String content, File file) throws IOException {
-        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
-            writer.write(content);
-            writer.flush();
-        }
-    }
-
-    private void copyJarToTarget(String projectName) throws CLIExecutorException {
+    private void copyJarToTarget(String projectName, Path destinationPath) throws CLIExecutorException {
         String jarName = projectName + CLIConstants.JAR_EXTENSION;
         Path jarPath = Paths.get(getProjectDirectoryPath(projectName) +
                 File.separator + CLIConstants.PROJECT_TARGET_DIR + File.separator + jarName);
-        Path destinationPath = Paths.get("./target" + File.separator + jarName);
         try {
-            Files.copy(jarPath, destinationPath);
+            Files.copy(jarPath, destinationPath, StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
             throw new CLIExecutorException("Error while copying the jar to the target directory", e);
         }
@@ -197,10 +544,10 @@ public class CLIExecutor {
 
 
     /**
-     * Returns path to the /gen of a given project in the current working directory
+     * Returns path to the /gen of a given project in the workspace
      *
      * @param projectName name of the project
-     * @return path to the /src of a given project in the current working directory
+     * @return path to the /src of a given project in the workspace
      */
     private String getProjectGenDirectoryPath(String projectName) {
         return getProjectDirectoryPath(projectName) + File.separator
@@ -208,34 +555,20 @@ public class CLIExecutor {
     }
 
     /**
-     * Returns path to the given project in the current working directory
+     * Returns path to the given project in the workspace
      *
      * @param projectName name of the project
-     * @return path to the given project in the current working directory
+     * @return path to the given project in the workspace
      */
     private  String getProjectDirectoryPath(String projectName) {
-        return getUserDir() + File.separator + projectName;
-    }
-
-    /**
-     * Returns current user dir
-     *
-     * @return current user dir
-     */
-    public static String getUserDir() {
-        String currentDirProp = System.getProperty(CLIConstants.SYS_PROP_CURRENT_DIR);
-        if (currentDirProp != null) {
-            return currentDirProp;
-        } else {
-            return System.getProperty(CLIConstants.SYS_PROP_USER_DIR);
-        }
+        return homeDirectory + File.separator + projectName;
     }
 
     /**
-     * Returns path to the /gen/api-definition of a given project in the current working directory
+     * Returns path to the /gen/api-definition of a given project in the workspace
      *
      * @param projectName name of the project
-     * @return path to the /gen/api-definition of a given project in the current working directory
+     * @return path to the /gen/api-definition of a given project in the workspace
      */
     private String getProjectGenAPIDefinitionPath(String projectName) {
         return getProjectDirectoryPath(projectName) + File.separator +
@@ -0,0 +1,131 @@
+package org.wso2.mgw.spring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.mgw.spring.utils.HashUtils;
+import org.wso2.mgw.spring.utils.ToolkitUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Application class data sharing archive of the toolkit JVM, which shortens the startup of the toolkit. One archive
+ * is kept per toolkit version and java installation, as an archive is only valid for the classes and the JVM which
+ * created it.
+ * <p>
+ * The archive is dumped when the toolkit JVM exits, which requires java 13 or later. On java 19 and later the JVM
+ * creates and validates the archive itself. On the earlier versions, a JVM without an archive dumps one to a
+ * temporary file, which is moved in place once the toolkit succeeds, hence concurrent builds never use a partial
+ * archive.
+ */
+public class ClassDataSharingArchive {
+    private static final Logger log = LoggerFactory.getLogger(ClassDataSharingArchive.class);
+
+    private static final String CDS_DIR = "cds";
+    private static final String ARCHIVE_FILE_EXTENSION = ".jsa";
+    private static final int DYNAMIC_ARCHIVE_JAVA_VERSION = 13;
+    private static final int AUTO_ARCHIVE_JAVA_VERSION = 19;
+
+    private Path archive;
+    private int javaFeatureVersion;
+    private Path dumpedArchive;
+
+    /**
+     * Initialize the archive of the given toolkit version and java installation.
+     *
+     * @param cacheDirectory cache directory, created if it does not exist
+     * @param toolkitVersion micro gateway toolkit version
+     * @param javaHome       java installation of the toolkit
+     */
+    public ClassDataSharingArchive(Path cacheDirectory, String toolkitVersion, String javaHome) {
+        String javaVersion = ToolkitUtils.getJavaVersion(javaHome);
+        this.javaFeatureVersion = ToolkitUtils.getJavaFeatureVersion(javaVersion);
+        String key = HashUtils.hash(("toolkit=" + toolkitVersion + "\njava=" + javaVersion + "\njavaHome=" + javaHome)
+                .getBytes(StandardCharsets.UTF_8));
+        this.archive = cacheDirectory.resolve(CDS_DIR).resolve(key.substring(0, 16) + ARCHIVE_FILE_EXTENSION);
+    }
+
+    /**
+     * Returns the JVM options which use the archive, or dump it if it does not exist. The archive is dumped only by
+     * the build, as the archive holds only the classes loaded by the JVM which dumps it.
+     *
+     * @param dump whether the archive is dumped if it does not exist
+     * @return JVM options, which are empty if the java installation does not support dynamic archives
+     */
+    public List<String> getJvmOptions(boolean dump) {
+        if (javaFeatureVersion < DYNAMIC_ARCHIVE_JAVA_VERSION || (!dump && !Files.isRegularFile(archive))) {
+            return Collections.emptyList();
+        }
+        List<String> options = new ArrayList<>();
+        // The JVM logs a warning whenever the archive does not match, in which case the archive is not used
+        options.add("-Xlog:cds=off,cds+dynamic=off");
+        if (javaFeatureVersion >= AUTO_ARCHIVE_JAVA_VERSION) {
+            if (!createArchiveDirectory()) {
+                return Collections.emptyList();
+            }
+            options.add("-XX:+AutoCreateSharedArchive");
+            options.add("-XX:SharedArchiveFile=" + archive);
+        } else if (Files.isRegularFile(archive)) {
+            options.add("-XX:SharedArchiveFile=" + archive);
+        } else {
+            if (!createArchiveDirectory()) {
+                return Collections.emptyList();
+            }
+            try {
+                dumpedArchive = Files.createTempFile(archive.getParent(), "dump", ARCHIVE_FILE_EXTENSION);
+                Files.delete(dumpedArchive);
+            } catch (IOException e) {
+                String message = "Error while creating the class data sharing archive of the toolkit";
+                log.warn(message + " : " + e.getMessage());
+                log.debug(message, e);
+                return Collections.emptyList();
+            }
+            options.add("-XX:ArchiveClassesAtExit=" + dumpedArchive);
+        }
+        return options;
+    }
+
+    /**
+     * Move the archive dumped by the toolkit JVM in place if the toolkit succeeded, otherwise discard it.
+     *
+     * @param succeeded whether the toolkit succeeded
+     */
+    public void onToolkitExit(boolean succeeded) {
+        if (dumpedArchive == null) {
+            return;
+        }
+        try {
+            if (succeeded && Files.isRegularFile(dumpedArchive)) {
+                Files.move(dumpedArchive, archive, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+                log.debug("Created the class data sharing archive " + archive + " of the toolkit");
+            } else {
+                Files.deleteIfExists(dumpedArchive);
+            }
+        } catch (IOException e) {
+            String message = "Error while saving the class data sharing archive of the toolkit";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+        } finally {
+            dumpedArchive = null;
+        }
+    }
+
+    private boolean createArchiveDirectory() {
+        try {
+            Files.createDirectories(archive.getParent());
+            return true;
+        } catch (IOException e) {
+            String message = "Error while creating the class data sharing archive directory of the toolkit";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+            return false;
+        }
+    }
+}
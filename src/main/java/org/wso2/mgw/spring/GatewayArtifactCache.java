@@ -0,0 +1,225 @@
+package org.wso2.mgw.spring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Local cache of the built gateway jars, keyed by the hash of the build inputs. The cache can be shared by the
+ * builds of several workspaces, including concurrent builds.
+ * <p>
+ * Entries are written to a temporary file and atomically moved in place, hence an entry is either absent or
+ * complete. Reads take no lock; an entry evicted while it is being read is a cache miss. Eviction removes the least
+ * recently used entries once the cache exceeds its size, holding a file lock so that concurrent builds do not evict
+ * at the same time.
+ */
+public class GatewayArtifactCache {
+    private static final Logger log = LoggerFactory.getLogger(GatewayArtifactCache.class);
+
+    private static final String ARTIFACTS_DIR = "artifacts";
+    private static final String LOCK_FILE = "cache.lock";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+    private static final long STALE_TEMP_FILE_AGE = TimeUnit.HOURS.toMillis(1);
+    // File locks are held by the JVM, hence the builds of the same JVM are serialized by this lock instead
+    private static final ReentrantLock evictionLock = new ReentrantLock();
+
+    private Path artifactsDirectory;
+    private Path lockFile;
+    private long maxSize;
+
+    /**
+     * Initialize the cache in the given directory.
+     *
+     * @param cacheDirectory cache directory, created if it does not exist
+     * @param maxSize        size in bytes above which the least recently used entries are evicted
+     */
+    public GatewayArtifactCache(Path cacheDirectory, long maxSize) {
+        this.artifactsDirectory = cacheDirectory.resolve(ARTIFACTS_DIR);
+        this.lockFile = cacheDirectory.resolve(LOCK_FILE);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Copy the cached jar of the given key to the destination. The jar is copied rather than linked, as a linked jar
+     * rewritten in place, eg: by a signing plugin, would corrupt the entry for every build sharing the cache.
+     *
+     * @param key         hash of the build inputs
+     * @param destination path of the gateway jar, replaced if it exists
+     * @return true if the jar is found in the cache
+     */
+    public boolean get(String key, Path destination) {
+        Path entry = getEntry(key);
+        if (!Files.isRegularFile(entry)) {
+            return false;
+        }
+        try {
+            // The modified time of an entry is its last use, which drives the eviction
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            Files.copy(entry, destination, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (NoSuchFileException e) {
+            // The entry is evicted by a concurrent build
+            return false;
+        } catch (IOException e) {
+            String message = "Error while reading the gateway jar from the cache";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+            return false;
+        }
+    }
+
+    /**
+     * Add the built jar to the cache and evict the least recently used entries if the cache exceeds its size.
+     *
+     * @param key        hash of the build inputs
+     * @param gatewayJar built gateway jar
+     */
+    public void put(String key, Path gatewayJar) {
+        Path entry = getEntry(key);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(entry.getParent());
+            tempFile = Files.createTempFile(entry.getParent(), key, TEMP_FILE_EXTENSION);
+            Files.copy(gatewayJar, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(tempFile, entry, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // A concurrent build added the same entry
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            String message = "Error while adding the gateway jar to the cache";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+            deleteQuietly(tempFile);
+            return;
+        }
+        evict();
+    }
+
+    private Path getEntry(String key) {
+        return artifactsDirectory.resolve(key.substring(0, 2)).resolve(key + ".jar");
+    }
+
+    private void evict() {
+        evictionLock.lock();
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                evictLeastRecentlyUsed();
+            } finally {
+                lock.release();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Evicting is housekeeping, hence a failure never fails the build
+            String message = "Error while evicting the gateway cache";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void evictLeastRecentlyUsed() throws IOException {
+        // Concurrent builds add and read entries without the lock, hence the entries are read once into a snapshot,
+        // and an entry which vanishes while it is read is skipped
+        List<CacheEntry> entries = new ArrayList<>();
+        long size = 0;
+        long now = System.currentTimeMillis();
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(artifactsDirectory)) {
+            for (Path directory : directories) {
+                for (Path path : listDirectory(directory)) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    } catch (NoSuchFileException e) {
+                        continue;
+                    }
+                    if (!attributes.isRegularFile()) {
+                        continue;
+                    }
+                    long lastModified = attributes.lastModifiedTime().toMillis();
+                    if (path.toString().endsWith(TEMP_FILE_EXTENSION)) {
+                        // Left behind by a build which was killed while adding its jar
+                        if (now - lastModified > STALE_TEMP_FILE_AGE) {
+                            deleteQuietly(path);
+                        }
+                        continue;
+                    }
+                    entries.add(new CacheEntry(path, attributes.size(), lastModified));
+                    size += attributes.size();
+                }
+            }
+        }
+        if (size <= maxSize) {
+            return;
+        }
+        entries.sort(Comparator.comparingLong(entry -> entry.lastModified));
+        for (CacheEntry entry : entries) {
+            if (size <= maxSize) {
+                break;
+            }
+            if (deleteQuietly(entry.path)) {
+                size -= entry.size;
+                log.debug("Evicted " + entry.path + " from the gateway cache");
+            }
+        }
+    }
+
+    private List<Path> listDirectory(Path directory) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return paths;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            stream.forEach(paths::add);
+        } catch (NoSuchFileException e) {
+            // The directory is removed by a concurrent build
+        }
+        return paths;
+    }
+
+    private boolean deleteQuietly(Path path) {
+        if (path == null) {
+            return false;
+        }
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // eg: the entry is being read by a concurrent build on Windows
+            return false;
+        }
+    }
+
+    /**
+     * Snapshot of a cache entry, read once so that the eviction order does not change while it is sorted.
+     */
+    private static class CacheEntry {
+        private final Path path;
+        private final long size;
+        private final long lastModified;
+
+        CacheEntry(Path path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
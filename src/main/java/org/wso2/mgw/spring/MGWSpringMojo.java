@@ -6,7 +6,9 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
+import org.wso2.mgw.spring.builders.BuildFingerprint;
 import org.wso2.mgw.spring.builders.OpenAPIBuilder;
 import org.wso2.mgw.spring.constants.CLIConstants;
 import org.wso2.mgw.spring.exception.CLIExecutorException;
@@ -14,9 +16,10 @@ import org.wso2.mgw.spring.exception.OpenAPIBuilderException;
 import org.wso2.mgw.spring.models.ConfigModel;
 import org.wso2.mgw.spring.utils.ConverterUtils;
 
-import java.util.List;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
-@Mojo( name = "add-gateway")
+@Mojo( name = "add-gateway", requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
 public class MGWSpringMojo extends AbstractMojo {
 
     private Log log = getLog();
@@ -37,22 +40,58 @@ public class MGWSpringMojo extends AbstractMojo {
 
     public void execute() throws MojoExecutionException
     {
-        System.setProperty(CLIConstants.SYSTEM_PROP_TOOLKIT, toolkitHome);
         if (buildProject.getOpenAPIName() == null && buildProject.getPackageName() == null) {
             throw new MojoExecutionException(
                     "Either packageName or openAPIName should present in the plugin configurations");
         }
-        try {
-            OpenAPIBuilder openAPIBuilder = new OpenAPIBuilder(project, buildProject);
-            List<OpenAPI> openAPIList = openAPIBuilder.generate();
-            CLIExecutor cliExecutor = CLIExecutor.getInstance();
-            cliExecutor.generateFromDefinition(project.getName() != null ? project.getName(): project.getArtifactId(), openAPIList);
+        String projectName = project.getName() != null ? project.getName() : project.getArtifactId();
+        Path gatewayJar = Paths.get(project.getBuild().getDirectory(), projectName + CLIConstants.JAR_EXTENSION);
+        BuildFingerprint buildFingerprint = null;
+        if (buildProject.isUseUpToDateCheck()) {
+            buildFingerprint = new BuildFingerprint(project, buildProject, projectName, toolkitHome);
+            if (buildFingerprint.isUpToDate(gatewayJar)) {
+                log.info("Micro gateway " + gatewayJar + " is up to date");
+                return;
+            }
+            buildFingerprint.invalidate();
+        }
+        BuildTimer buildTimer = new BuildTimer(buildProject.getTotalTimeout());
+        buildTimer.startPhase("scan");
+        try (OpenAPIBuilder openAPIBuilder = new OpenAPIBuilder(project, buildProject, buildTimer)) {
+            CLIExecutor cliExecutor = new CLIExecutor(toolkitHome, Paths.get(project.getBuild().getDirectory()));
+            cliExecutor.initProject(projectName, buildProject, buildTimer);
+            buildTimer.startPhase("generate");
+            // Each definition is written to the project as soon as it is generated
+            openAPIBuilder.generate(openAPI -> {
+                if (buildProject.isPrintOpenAPI()) {
+                    printOpenAPI(openAPI);
+                }
+                cliExecutor.saveDefinition(projectName, openAPI);
+            });
+            buildTimer.finishPhase();
+            // A cached jar is reused without running the toolkit, hence the budget is checked before the build
+            buildTimer.checkTotalBudget();
+            cliExecutor.buildProject(projectName, gatewayJar);
+            log.debug(buildTimer.getReport());
         } catch (CLIExecutorException | OpenAPIBuilderException e) {
             String message = "Error while building micro gateway for the spring service";
             log.error(message + " : " + e.getMessage());
             log.debug(message, e);
             throw new MojoExecutionException(message, e);
         }
+        if (buildFingerprint != null) {
+            buildFingerprint.save();
+        }
+    }
+
+    /**
+     * Log the generated open API definition through the maven logger.
+     *
+     * @param openAPI generated open API definition
+     */
+    private void printOpenAPI(OpenAPI openAPI) {
+        log.info("Open API definition of '" + openAPI.getInfo().getTitle() + "' :\n"
+                + ConverterUtils.getOpenAPIAsString(openAPI));
     }
 
 
@@ -0,0 +1,206 @@
+package org.wso2.mgw.spring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.mgw.spring.utils.FileUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cache of the project skeletons created by {@code micro-gw init}, one per toolkit version. The skeleton of a
+ * version is recorded once by initializing a project with a placeholder name, and is copied to initialize the later
+ * projects, replacing the placeholder with the project name, instead of starting the toolkit.
+ * <p>
+ * A skeleton which refers to the directory in which it was initialized cannot be copied. Such toolkit versions are
+ * marked as unsupported and their projects are always initialized by the toolkit.
+ */
+public class ProjectTemplateCache {
+    private static final Logger log = LoggerFactory.getLogger(ProjectTemplateCache.class);
+
+    static final String TEMPLATE_PROJECT_NAME = "mgwSpringTemplateProject";
+    private static final String TEMPLATES_DIR = "templates";
+    private static final String UNSUPPORTED_FILE_EXTENSION = ".unsupported";
+
+    private Path templatesDirectory;
+    private Path templateDirectory;
+    private Path unsupportedMarker;
+
+    /**
+     * Initialize the cache of the given toolkit version.
+     *
+     * @param cacheDirectory cache directory, created if it does not exist
+     * @param toolkitVersion micro gateway toolkit version
+     */
+    public ProjectTemplateCache(Path cacheDirectory, String toolkitVersion) {
+        String versionDirectory = toolkitVersion.replaceAll("[^A-Za-z0-9._-]", "_");
+        this.templatesDirectory = cacheDirectory.resolve(TEMPLATES_DIR);
+        this.templateDirectory = templatesDirectory.resolve(versionDirectory);
+        this.unsupportedMarker = templatesDirectory.resolve(versionDirectory + UNSUPPORTED_FILE_EXTENSION);
+    }
+
+    /**
+     * Returns whether the skeleton of the toolkit version is cached.
+     *
+     * @return true if the skeleton is cached
+     */
+    public boolean isCached() {
+        return Files.isDirectory(templateDirectory);
+    }
+
+    /**
+     * Returns whether the skeleton of the toolkit version cannot be cached.
+     *
+     * @return true if the projects of the toolkit version must be initialized by the toolkit
+     */
+    public boolean isUnsupported() {
+        return Files.exists(unsupportedMarker);
+    }
+
+    /**
+     * Returns a new directory in which a project named {@link #TEMPLATE_PROJECT_NAME} is initialized by the toolkit,
+     * to be recorded by {@link #record(Path)}.
+     *
+     * @return new working directory
+     * @throws IOException if the directory cannot be created
+     */
+    public Path createWorkingDirectory() throws IOException {
+        Files.createDirectories(templatesDirectory);
+        return Files.createTempDirectory(templatesDirectory, "init");
+    }
+
+    /**
+     * Record the skeleton of the project initialized in the given working directory and delete the directory. The
+     * skeleton is copied to a temporary directory and atomically moved in place, hence concurrent builds never see
+     * a partial skeleton.
+     *
+     * @param workingDirectory directory created by {@link #createWorkingDirectory()}
+     * @return true if the skeleton is recorded
+     */
+    public boolean record(Path workingDirectory) {
+        Path projectDirectory = workingDirectory.resolve(TEMPLATE_PROJECT_NAME);
+        try {
+            if (refersTo(projectDirectory, workingDirectory.toAbsolutePath().toString())) {
+                log.info("The micro gateway project skeleton of this toolkit version cannot be reused");
+                Files.createFile(unsupportedMarker);
+                return false;
+            }
+            try {
+                Files.move(projectDirectory, templateDirectory, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // eg: a concurrent build recorded the same skeleton, which fails the move as the directory exists
+                if (!isCached()) {
+                    throw e;
+                }
+            }
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        } catch (IOException e) {
+            String message = "Error while recording the micro gateway project skeleton";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+            return false;
+        } finally {
+            deleteRecursively(workingDirectory);
+        }
+    }
+
+    /**
+     * Copy the cached skeleton to the given project directory, replacing the placeholder with the project name in
+     * the file names and in the text files.
+     *
+     * @param projectDirectory directory of the project to be initialized
+     * @param projectName      project name
+     * @return true if the project is initialized, false if the skeleton is not cached or cannot be copied
+     */
+    public boolean copyTo(Path projectDirectory, String projectName) {
+        if (!isCached()) {
+            return false;
+        }
+        try (Stream<Path> paths = Files.walk(templateDirectory)) {
+            for (Path source : (Iterable<Path>) paths::iterator) {
+                String relativePath = templateDirectory.relativize(source).toString()
+                        .replace(TEMPLATE_PROJECT_NAME, projectName);
+                Path target = projectDirectory.resolve(relativePath);
+                if (Files.isDirectory(source)) {
+                    Files.createDirectories(target);
+                    continue;
+                }
+                byte[] content = Files.readAllBytes(source);
+                String text = decodeText(content);
+                if (text != null && text.contains(TEMPLATE_PROJECT_NAME)) {
+                    content = text.replace(TEMPLATE_PROJECT_NAME, projectName).getBytes(StandardCharsets.UTF_8);
+                }
+                Files.write(target, content);
+                if (Files.isExecutable(source)) {
+                    target.toFile().setExecutable(true);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            String message = "Error while copying the micro gateway project skeleton";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+            deleteRecursively(projectDirectory);
+            return false;
+        }
+    }
+
+    /**
+     * Delete a working directory in which the project could not be initialized.
+     *
+     * @param workingDirectory directory created by {@link #createWorkingDirectory()}
+     */
+    public void discard(Path workingDirectory) {
+        deleteRecursively(workingDirectory);
+    }
+
+    private boolean refersTo(Path projectDirectory, String text) throws IOException {
+        try (Stream<Path> paths = Files.walk(projectDirectory)) {
+            for (Path path : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                String content = decodeText(Files.readAllBytes(path));
+                if (content != null && content.contains(text)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the content as text, or null if the content is not UTF-8 text, eg: a jar in the lib directory.
+     */
+    private static String decodeText(byte[] content) {
+        for (byte b : content) {
+            if (b == 0) {
+                return null;
+            }
+        }
+        try {
+            CharBuffer text = StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT).decode(ByteBuffer.wrap(content));
+            return text.toString();
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try {
+            FileUtils.deleteRecursively(directory);
+        } catch (IOException e) {
+            log.debug("Error while deleting " + directory, e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.wso2.mgw.spring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Home directory of the toolkit processes, in which the toolkit keeps its compiled module caches and resolved
+ * dependencies across builds. The caches of the toolkit are not meant to be written by concurrent processes, hence
+ * each toolkit version has a number of slots, and a build holds a file lock on its slot while the toolkit runs.
+ * Concurrent builds use different slots, so each slot is only ever used by one build at a time.
+ */
+public class ToolkitHomeSlot implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(ToolkitHomeSlot.class);
+
+    private static final String TOOLKIT_HOME_DIR = "toolkit-home";
+    private static final String LOCK_FILE_EXTENSION = ".lock";
+    private static final int MAX_SLOTS = 16;
+
+    private final Path directory;
+    private final FileChannel channel;
+    private final FileLock lock;
+
+    private ToolkitHomeSlot(Path directory, FileChannel channel, FileLock lock) {
+        this.directory = directory;
+        this.channel = channel;
+        this.lock = lock;
+    }
+
+    /**
+     * Lock the first free slot of the given toolkit version.
+     *
+     * @param cacheDirectory cache directory, created if it does not exist
+     * @param toolkitVersion micro gateway toolkit version
+     * @return the locked slot, or null if every slot is in use or the slots cannot be created
+     */
+    public static ToolkitHomeSlot acquire(Path cacheDirectory, String toolkitVersion) {
+        Path versionDirectory = cacheDirectory.resolve(TOOLKIT_HOME_DIR)
+                .resolve(toolkitVersion.replaceAll("[^A-Za-z0-9._-]", "_"));
+        try {
+            Files.createDirectories(versionDirectory);
+            for (int i = 0; i < MAX_SLOTS; i++) {
+                Path lockFile = versionDirectory.resolve("slot-" + i + LOCK_FILE_EXTENSION);
+                FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                try {
+                    FileLock lock = channel.tryLock();
+                    if (lock != null) {
+                        Path directory = Files.createDirectories(versionDirectory.resolve("slot-" + i));
+                        log.debug("Using the toolkit home " + directory);
+                        return new ToolkitHomeSlot(directory, channel, lock);
+                    }
+                } catch (OverlappingFileLockException e) {
+                    // The slot is used by a concurrent build of the same JVM
+                } catch (IOException e) {
+                    channel.close();
+                    throw e;
+                }
+                channel.close();
+            }
+            log.info("Every toolkit home of " + versionDirectory + " is in use, the toolkit caches are not reused");
+        } catch (IOException e) {
+            String message = "Error while locking the toolkit home";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the toolkit home directory, which is used as the user home of the toolkit processes.
+     *
+     * @return toolkit home directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Release the slot.
+     */
+    @Override
+    public void close() {
+        try {
+            lock.release();
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Error while releasing the toolkit home " + directory, e);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.wso2.mgw.spring.builders;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.mgw.spring.constants.PluginConstants;
+import org.wso2.mgw.spring.models.ConfigModel;
+import org.wso2.mgw.spring.utils.HashUtils;
+import org.wso2.mgw.spring.utils.ToolkitUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fingerprint of the inputs of the gateway build. The fingerprint covers the project output directory, which holds
+ * the compiled controllers, the application.properties and the open API file, the runtime dependencies, the plugin
+ * configuration and the plugin and toolkit versions. Files are fingerprinted by their size and last modified time,
+ * hence computing the fingerprint does not read any file content.
+ */
+public class BuildFingerprint {
+    private static final Logger log = LoggerFactory.getLogger(BuildFingerprint.class);
+
+    private static final String FINGERPRINT_FILE = "build.fingerprint";
+
+    private Path fingerprintFile;
+    private String fingerprint;
+
+    /**
+     * Compute the fingerprint of the current inputs of the gateway build.
+     *
+     * @param project     maven project
+     * @param configModel plugin configuration
+     * @param projectName name of the gateway project
+     * @param toolkitHome micro gateway toolkit home
+     */
+    public BuildFingerprint(MavenProject project, ConfigModel configModel, String projectName, String toolkitHome) {
+        this.fingerprintFile = Paths.get(project.getBuild().getDirectory(), PluginConstants.PLUGIN_WORK_DIR,
+                FINGERPRINT_FILE);
+        try {
+            this.fingerprint = computeFingerprint(project, configModel, projectName, toolkitHome);
+        } catch (IOException e) {
+            String message = "Error while computing the fingerprint of the gateway build inputs";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+        }
+    }
+
+    /**
+     * Returns whether the gateway built from the same inputs is still available.
+     *
+     * @param gatewayJar gateway jar of the previous build
+     * @return true if the inputs are unchanged since the previous build and its gateway jar exists
+     */
+    public boolean isUpToDate(Path gatewayJar) {
+        if (fingerprint == null || !Files.isRegularFile(fingerprintFile) || !Files.isRegularFile(gatewayJar)) {
+            return false;
+        }
+        try {
+            return fingerprint.equals(new String(Files.readAllBytes(fingerprintFile), StandardCharsets.UTF_8).trim());
+        } catch (IOException e) {
+            String message = "Error while reading the gateway build fingerprint";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+            return false;
+        }
+    }
+
+    /**
+     * Delete the fingerprint of the previous build, so that a failed build is not taken as up to date.
+     */
+    public void invalidate() {
+        try {
+            Files.deleteIfExists(fingerprintFile);
+        } catch (IOException e) {
+            String message = "Error while deleting the gateway build fingerprint";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+        }
+    }
+
+    /**
+     * Record the fingerprint after a successful build.
+     */
+    public void save() {
+        if (fingerprint == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(fingerprintFile.getParent());
+            Files.write(fingerprintFile, fingerprint.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            String message = "Error while saving the gateway build fingerprint";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+        }
+    }
+
+    private String computeFingerprint(MavenProject project, ConfigModel configModel, String projectName,
+            String toolkitHome) throws IOException {
+        MessageDigest digest = HashUtils.newDigest();
+        update(digest, "project", projectName);
+        update(digest, "plugin", describeFile(getPluginLocation()));
+        update(digest, "toolkit", ToolkitUtils.getToolkitVersion(toolkitHome));
+        update(digest, "toolkitHome", Paths.get(toolkitHome).toAbsolutePath().normalize().toString());
+        update(digest, "config", describeObject(configModel));
+
+        Path outputDirectory = Paths.get(project.getBuild().getOutputDirectory());
+        if (Files.isDirectory(outputDirectory)) {
+            List<Path> files;
+            try (Stream<Path> paths = Files.walk(outputDirectory)) {
+                files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                update(digest, "output", outputDirectory.relativize(file).toString().replace(File.separatorChar, '/')
+                        + ":" + describeFile(file));
+            }
+        }
+        List<Artifact> artifacts = new ArrayList<>(project.getArtifacts());
+        artifacts.sort(Comparator.comparing(Artifact::getId));
+        for (Artifact artifact : artifacts) {
+            File file = artifact.getFile();
+            update(digest, "artifact", artifact.getId() + ":" + (file != null && file.exists() ?
+                    describeFile(file.toPath()) : ""));
+        }
+        return HashUtils.toHex(digest.digest());
+    }
+
+    private void update(MessageDigest digest, String key, String value) {
+        digest.update((key + "=" + value + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String describeFile(Path file) throws IOException {
+        if (file == null || !Files.exists(file)) {
+            return "";
+        }
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+    }
+
+    /**
+     * Describe the configuration fields, including the fields of the nested configuration models, in a stable
+     * order, so that every configuration field is covered.
+     */
+    private String describeObject(Object object) {
+        if (object instanceof Map) {
+            return new TreeMap<>((Map<?, ?>) object).toString();
+        }
+        if (object == null || !object.getClass().getPackage().equals(ConfigModel.class.getPackage())) {
+            return String.valueOf(object);
+        }
+        StringBuilder description = new StringBuilder("{");
+        Field[] fields = object.getClass().getDeclaredFields();
+        Arrays.sort(fields, Comparator.comparing(Field::getName));
+        for (Field field : fields) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            try {
+                field.setAccessible(true);
+                description.append(field.getName()).append('=').append(describeObject(field.get(object)))
+                        .append(';');
+            } catch (IllegalAccessException e) {
+                description.append(field.getName()).append("=?;");
+            }
+        }
+        return description.append('}').toString();
+    }
+
+    private Path getPluginLocation() {
+        CodeSource codeSource = BuildFingerprint.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return null;
+        }
+        try {
+            return Paths.get(codeSource.getLocation().toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
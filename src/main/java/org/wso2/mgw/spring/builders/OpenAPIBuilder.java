@@ -2,133 +2,284 @@ package org.wso2.mgw.spring.builders;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.OpenAPIV3Parser;
+import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DependencyResolutionRequiredException;
 import org.apache.maven.project.MavenProject;
-import org.reflections.Reflections;
-import org.reflections.scanners.MethodAnnotationsScanner;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Controller;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.wso2.mgw.spring.BuildTimer;
 import org.wso2.mgw.spring.constants.PluginConstants;
 import org.wso2.mgw.spring.exception.OpenAPIBuilderException;
 import org.wso2.mgw.spring.mappers.OpenAPIServiceMapper;
+import org.wso2.mgw.spring.mappers.SchemaRegistry;
 import org.wso2.mgw.spring.models.ConfigModel;
+import org.wso2.mgw.spring.models.ServiceClassModel;
+import org.wso2.mgw.spring.scanners.AnnotationIndex;
+import org.wso2.mgw.spring.scanners.ClassFileScanner;
+import org.wso2.mgw.spring.scanners.ScanCache;
+import org.wso2.mgw.spring.scanners.ScanScope;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
-public class OpenAPIBuilder {
+public class OpenAPIBuilder implements Closeable {
     private static final Logger log = LoggerFactory.getLogger(OpenAPIBuilder.class);
 
     private String packageName;
-    private Reflections reflections;
+    private AnnotationIndex annotationIndex;
+    private ProjectClassLoader projectClassLoader;
     private MavenProject mavenProject;
     private Properties projectProperties = new Properties();
     private String openAPIFileName;
     private boolean processProject;
     private boolean isExtendedOpenAPI;
+    private boolean useScanCache;
+    private int scanThreads;
+    private int generationThreads;
+    private ScanScope scanScope;
+    private SchemaRegistry schemaRegistry = new SchemaRegistry();
+    private BuildTimer buildTimer;
 
-    public OpenAPIBuilder(MavenProject project, ConfigModel configModel) throws OpenAPIBuilderException {
+    /**
+     * Scan the project for the spring services. The scan and the generation of the definitions are bounded by the
+     * rest of the total time budget of the given timer.
+     *
+     * @param project     maven project
+     * @param configModel plugin configuration
+     * @param buildTimer  timer of the build
+     * @throws OpenAPIBuilderException if the project cannot be scanned
+     */
+    public OpenAPIBuilder(MavenProject project, ConfigModel configModel, BuildTimer buildTimer)
+            throws OpenAPIBuilderException {
         this.packageName = configModel.getPackageName();
         this.mavenProject = project;
         this.processProject = configModel.isProcessProject();
         this.openAPIFileName = configModel.getOpenAPIName();
         this.isExtendedOpenAPI = configModel.isExtendedOpenAPI();
-        initReflections();
+        this.useScanCache = configModel.isUseScanCache();
+        this.scanThreads = configModel.getScanThreads();
+        this.generationThreads = configModel.getGenerationThreads();
+        this.scanScope = new ScanScope(packageName, configModel.getScanScope());
+        this.buildTimer = buildTimer;
+        initAnnotationIndex();
     }
 
-    public List<OpenAPI> generate() throws OpenAPIBuilderException {
-        List<OpenAPI> openAPIList = new ArrayList<>();
+    /**
+     * Generate the open API definitions and pass each definition to the consumer as soon as it is generated, so
+     * that only the definitions being generated are held in memory.
+     *
+     * @param consumer consumer of the generated definitions
+     * @param <E>      exception thrown by the consumer
+     * @throws OpenAPIBuilderException if generating a definition fails
+     * @throws E                       if the consumer fails
+     */
+    public <E extends Exception> void generate(OpenAPIConsumer<E> consumer) throws OpenAPIBuilderException, E {
         OpenAPI openAPI;
         if (this.openAPIFileName != null && (openAPI = getOpenAPIFromFile()) != null) {
             OpenAPIServiceMapper openAPIServiceMapper = new OpenAPIServiceMapper(openAPI, mavenProject,
                     projectProperties);
-            openAPIList.add(openAPIServiceMapper.getOpenAPI());
+            consumer.accept(openAPIServiceMapper.getOpenAPI());
             if (processProject) {
-                addSpringServicesAsOpenAPIs(openAPIList);
+                addSpringServicesAsOpenAPIs(consumer);
             }
         } else {
-            addSpringServicesAsOpenAPIs(openAPIList);
+            addSpringServicesAsOpenAPIs(consumer);
         }
-        return openAPIList;
     }
 
-    private void addSpringServicesAsOpenAPIs(List<OpenAPI> openAPIList) {
-        Set<Class<?>> classes = getSpringServiceClasses();
-        Set<Class<?>> compositeClasses = getCompositeClasses(classes);
+    private <E extends Exception> void addSpringServicesAsOpenAPIs(OpenAPIConsumer<E> consumer)
+            throws OpenAPIBuilderException, E {
+        Set<ServiceClassModel> classes = getSpringServiceClasses();
+        Set<ServiceClassModel> compositeClasses = getCompositeClasses(classes);
         classes.removeAll(compositeClasses);
+        // The class loader is created before the generation tasks run, as it is lazily initialized
+        ClassLoader classLoader = getProjectClassLoader();
+        List<Callable<OpenAPI>> generationTasks = new ArrayList<>();
         if (compositeClasses.size() > 0) {
-            OpenAPIServiceMapper openAPIServiceMapper = new OpenAPIServiceMapper(reflections, mavenProject,
-                    projectProperties, compositeClasses, isExtendedOpenAPI);
-            openAPIList.add(openAPIServiceMapper.getOpenAPI());
+            Set<String> reservedBasePaths = new HashSet<>();
+            classes.forEach(springClass -> reservedBasePaths.addAll(Arrays.asList(springClass.getBasePaths())));
+            generationTasks.add(() -> new OpenAPIServiceMapper(annotationIndex, mavenProject, projectProperties,
+                    compositeClasses, reservedBasePaths, isExtendedOpenAPI, classLoader, schemaRegistry)
+                    .getOpenAPI());
         }
-        for (Class<?> cl : classes) {
-            OpenAPIServiceMapper openAPIServiceMapper = new OpenAPIServiceMapper(reflections, mavenProject,
-                    projectProperties, cl, isExtendedOpenAPI);
-            System.out.println(openAPIServiceMapper.getOpenAPIAsString());
-            openAPIList.add(openAPIServiceMapper.getOpenAPI());
+        List<ServiceClassModel> sortedClasses = new ArrayList<>(classes);
+        sortedClasses.sort(Comparator.comparing(ServiceClassModel::getName));
+        for (ServiceClassModel cl : sortedClasses) {
+            generationTasks.add(() -> new OpenAPIServiceMapper(annotationIndex, mavenProject, projectProperties, cl,
+                    isExtendedOpenAPI, classLoader, schemaRegistry).getOpenAPI());
         }
+        runGenerationTasks(generationTasks, consumer);
     }
 
-    private ClassLoader getClassLoaderForProjectClasses() throws OpenAPIBuilderException {
-        List<String> runtimeClasspathElements = null;
+    /**
+     * Map the controllers concurrently on a bounded pool. The definitions are consumed in the order of the tasks,
+     * irrespective of the order in which the tasks complete. Only a window of tasks proportional to the pool size
+     * is submitted ahead of the consumer, hence the number of definitions held in memory does not grow with the
+     * number of controllers.
+     *
+     * @param generationTasks tasks mapping a controller, or the composite controllers, to an open API definition
+     * @param consumer        consumer of the definitions, called from the calling thread
+     * @throws OpenAPIBuilderException if mapping a controller fails
+     * @throws E                       if the consumer fails
+     */
+    private <E extends Exception> void runGenerationTasks(List<Callable<OpenAPI>> generationTasks,
+            OpenAPIConsumer<E> consumer) throws OpenAPIBuilderException, E {
+        if (generationTasks.isEmpty()) {
+            return;
+        }
+        int threadCount = Math.min(generationThreads > 0 ? generationThreads :
+                Runtime.getRuntime().availableProcessors(), generationTasks.size());
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "mgw-openapi-generator-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        int windowSize = threadCount * 2;
+        Deque<Future<OpenAPI>> window = new ArrayDeque<>(windowSize);
+        Iterator<Callable<OpenAPI>> pendingTasks = generationTasks.iterator();
         try {
-            runtimeClasspathElements = mavenProject.getRuntimeClasspathElements();
-        } catch (DependencyResolutionRequiredException e) {
-            String message = "Error while loading spring service classes to class path";
-            log.error(message, e.getMessage());
-            log.debug(message, e);
-            throw new OpenAPIBuilderException(message, e);
+            while (pendingTasks.hasNext() || !window.isEmpty()) {
+                while (pendingTasks.hasNext() && window.size() < windowSize) {
+                    window.add(executor.submit(pendingTasks.next()));
+                }
+                Future<OpenAPI> generationTask = window.poll();
+                long timeout = buildTimer.getRemainingBudget();
+                consumer.accept(timeout > 0 ? generationTask.get(timeout, TimeUnit.MILLISECONDS) :
+                        generationTask.get());
+            }
+        } catch (TimeoutException e) {
+            throw new OpenAPIBuilderException("Generating the open API definitions exceeded the total time budget "
+                    + "of the build. " + buildTimer.getReport(), e);
+        } catch (ExecutionException e) {
+            String message = "Error while generating the open API definitions of the spring services";
+            log.error(message + " : " + e.getCause().getMessage());
+            log.debug(message, e.getCause());
+            throw new OpenAPIBuilderException(message, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OpenAPIBuilderException("Generating the open API definitions was interrupted", e);
+        } finally {
+            executor.shutdownNow();
         }
-        URL[] runtimeUrls = new URL[runtimeClasspathElements.size()];
-        for (int i = 0; i < runtimeClasspathElements.size(); i++) {
-            String element = runtimeClasspathElements.get(i);
+    }
+
+    /**
+     * Returns the class loader of the project classes and its runtime dependencies. The loader is created on the
+     * first call and shared by every consumer until this builder is closed.
+     *
+     * @return project class loader
+     * @throws OpenAPIBuilderException if the runtime classpath of the project is not resolved
+     */
+    private ClassLoader getProjectClassLoader() throws OpenAPIBuilderException {
+        if (projectClassLoader == null) {
+            List<String> runtimeClasspathElements;
             try {
-                runtimeUrls[i] = new File(element).toURI().toURL();
-            } catch (MalformedURLException e) {
-                log.error("Error while reading class '" + element + "' to be added to the class path", e);
+                runtimeClasspathElements = mavenProject.getRuntimeClasspathElements();
+            } catch (DependencyResolutionRequiredException e) {
+                String message = "Error while loading spring service classes to class path";
+                log.error(message + " : " + e.getMessage());
+                log.debug(message, e);
+                throw new OpenAPIBuilderException(message, e);
             }
+            projectClassLoader = new ProjectClassLoader(runtimeClasspathElements);
         }
-        return new URLClassLoader(runtimeUrls, Thread.currentThread().getContextClassLoader());
+        return projectClassLoader.getClassLoader();
+    }
 
+    /**
+     * Close the project class loader.
+     */
+    @Override
+    public void close() {
+        if (projectClassLoader != null) {
+            try {
+                projectClassLoader.close();
+            } catch (IOException e) {
+                String message = "Error while closing the project class loader";
+                log.warn(message + " : " + e.getMessage());
+                log.debug(message, e);
+            }
+            projectClassLoader = null;
+        }
     }
 
-    private void initReflections() throws OpenAPIBuilderException {
-        ClassLoader newLoader = getClassLoaderForProjectClasses();
-        Collection<URL> urls = ClasspathHelper.forPackage(packageName, newLoader);
-        reflections = new Reflections(new ConfigurationBuilder().setUrls(urls).addClassLoader(newLoader)
-                .setScanners(new MethodAnnotationsScanner(), new TypeAnnotationsScanner(), new SubTypesScanner()));
+    private void initAnnotationIndex() throws OpenAPIBuilderException {
+        List<File> roots = getScanRoots();
+        ScanCache scanCache = null;
+        if (useScanCache) {
+            scanCache = ScanCache.load(Paths.get(mavenProject.getBuild().getDirectory(),
+                    PluginConstants.PLUGIN_WORK_DIR, PluginConstants.SCAN_CACHE_FILE));
+        }
+        annotationIndex = new ClassFileScanner(scanScope, scanCache, scanThreads).scan(roots,
+                buildTimer.getRemainingBudget());
+        if (scanCache != null) {
+            try {
+                scanCache.save();
+            } catch (IOException e) {
+                String message = "Error while saving the scan cache";
+                log.warn(message + " : " + e.getMessage());
+                log.debug(message, e);
+            }
+        }
+        ClassLoader newLoader = getProjectClassLoader();
         try (InputStream in = newLoader.getResourceAsStream(PluginConstants.APPLICATION_PROPERTIES_FILE)) {
             if (in != null) {
-                projectProperties.load(newLoader.getResourceAsStream(PluginConstants.APPLICATION_PROPERTIES_FILE));
+                projectProperties.load(in);
             }
         } catch (IOException e) {
             String message =
                     "Error while reading the spring project " + PluginConstants.APPLICATION_PROPERTIES_FILE + " file";
-            log.warn(message, e.getMessage());
+            log.warn(message + " : " + e.getMessage());
             log.debug(message, e);
         }
     }
 
+    /**
+     * Returns the classpath roots to be scanned. The project output directory is always scanned, dependencies and
+     * reactor modules only if they are selected by the scan scope.
+     *
+     * @return classpath roots
+     */
+    private List<File> getScanRoots() {
+        List<File> roots = new ArrayList<>();
+        roots.add(new File(mavenProject.getBuild().getOutputDirectory()));
+        for (Artifact artifact : mavenProject.getArtifacts()) {
+            File file = artifact.getFile();
+            if (file != null && file.exists() && scanScope.isDependencyIncluded(artifact.getArtifactId(), file)) {
+                roots.add(file);
+            }
+        }
+        log.info("Scanning " + roots.size() + " classpath roots for spring services");
+        log.debug("Classpath roots to be scanned : " + roots);
+        return roots;
+    }
+
     private OpenAPI getOpenAPIFromFile() throws OpenAPIBuilderException {
         OpenAPI openAPI = null;
-        ClassLoader newLoader = getClassLoaderForProjectClasses();
+        ClassLoader newLoader = getProjectClassLoader();
         if (newLoader.getResource(openAPIFileName) != null) {
             openAPI = new OpenAPIV3Parser().read(newLoader.getResource(openAPIFileName).getPath());
         } else {
@@ -137,18 +288,14 @@ public class OpenAPIBuilder {
         return openAPI;
     }
 
-    private Set<Class<?>> getSpringServiceClasses() {
-        Set<Class<?>> restAnnotatedClasses = reflections.getTypesAnnotatedWith(RestController.class);
-        restAnnotatedClasses.addAll(reflections.getTypesAnnotatedWith(Controller.class));
-        return restAnnotatedClasses;
+    private Set<ServiceClassModel> getSpringServiceClasses() {
+        return annotationIndex.getServiceClasses();
     }
 
-    private Set<Class<?>> getCompositeClasses(Set<Class<?>> classes) {
-        Set<Class<?>> compositeClasses = new HashSet<>();
+    private Set<ServiceClassModel> getCompositeClasses(Set<ServiceClassModel> classes) {
+        Set<ServiceClassModel> compositeClasses = new LinkedHashSet<>();
         classes.forEach(springClass -> {
-            RequestMapping requestMappingAnnotation = springClass.getAnnotation(RequestMapping.class);
-            if ((requestMappingAnnotation == null) || (requestMappingAnnotation != null
-                    && requestMappingAnnotation.value().length == 0)) {
+            if (springClass.getBasePaths().length == 0) {
                 compositeClasses.add(springClass);
             }
         });
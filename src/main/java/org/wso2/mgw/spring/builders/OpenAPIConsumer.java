@@ -0,0 +1,20 @@
+package org.wso2.mgw.spring.builders;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Receives the open API definitions one at a time as they are generated by the {@link OpenAPIBuilder}.
+ *
+ * @param <E> exception thrown by the consumer
+ */
+@FunctionalInterface
+public interface OpenAPIConsumer<E extends Exception> {
+
+    /**
+     * Consume a generated definition. The builder does not keep the definition once it is consumed.
+     *
+     * @param openAPI generated open API definition
+     * @throws E if the definition cannot be consumed, which stops the generation
+     */
+    void accept(OpenAPI openAPI) throws E;
+}
@@ -0,0 +1,126 @@
+package org.wso2.mgw.spring.builders;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class loader over the runtime classpath of a module. The dependency jars are loaded by a loader which is cached
+ * and shared by all the modules of the build having the same dependency jars, while the class directories of the
+ * module are loaded by a child loader owned by this instance. Closing this instance closes the child loader and
+ * releases the shared loader, which is closed once it is evicted from the cache.
+ */
+class ProjectClassLoader implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(ProjectClassLoader.class);
+
+    private static final int MAX_IDLE_DEPENDENCY_LOADERS = 4;
+    // Kept in access order so that the least recently used idle loaders are evicted first
+    private static final Map<String, SharedLoader> dependencyLoaders = new LinkedHashMap<>(16, 0.75f, true);
+
+    private String dependencyKey;
+    private URLClassLoader classLoader;
+
+    /**
+     * Creates the class loader of a module.
+     *
+     * @param runtimeClasspathElements runtime classpath of the module
+     */
+    ProjectClassLoader(List<String> runtimeClasspathElements) {
+        List<URL> directoryUrls = new ArrayList<>();
+        List<URL> jarUrls = new ArrayList<>();
+        StringBuilder key = new StringBuilder();
+        for (String element : runtimeClasspathElements) {
+            File file = new File(element);
+            try {
+                if (file.isFile()) {
+                    jarUrls.add(file.toURI().toURL());
+                    key.append(file.getAbsolutePath()).append(':').append(file.length()).append(':')
+                            .append(file.lastModified()).append(File.pathSeparator);
+                } else {
+                    directoryUrls.add(file.toURI().toURL());
+                }
+            } catch (MalformedURLException e) {
+                log.error("Error while reading class '" + element + "' to be added to the class path", e);
+            }
+        }
+        dependencyKey = key.toString();
+        ClassLoader dependencyLoader = acquire(dependencyKey, jarUrls);
+        classLoader = new URLClassLoader(directoryUrls.toArray(new URL[0]), dependencyLoader);
+    }
+
+    ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (classLoader == null) {
+            return;
+        }
+        try {
+            classLoader.close();
+        } finally {
+            classLoader = null;
+            release(dependencyKey);
+        }
+    }
+
+    private static ClassLoader acquire(String key, List<URL> jarUrls) {
+        synchronized (dependencyLoaders) {
+            SharedLoader sharedLoader = dependencyLoaders.get(key);
+            if (sharedLoader == null) {
+                sharedLoader = new SharedLoader(new URLClassLoader(jarUrls.toArray(new URL[0]),
+                        Thread.currentThread().getContextClassLoader()));
+                dependencyLoaders.put(key, sharedLoader);
+            } else {
+                log.debug("Reusing the dependency class loader of a module with the same dependencies");
+            }
+            sharedLoader.references++;
+            return sharedLoader.classLoader;
+        }
+    }
+
+    private static void release(String key) {
+        synchronized (dependencyLoaders) {
+            SharedLoader sharedLoader = dependencyLoaders.get(key);
+            if (sharedLoader != null) {
+                sharedLoader.references--;
+            }
+            long idleCount = dependencyLoaders.values().stream().filter(loader -> loader.references <= 0).count();
+            Iterator<SharedLoader> iterator = dependencyLoaders.values().iterator();
+            while (idleCount > MAX_IDLE_DEPENDENCY_LOADERS && iterator.hasNext()) {
+                SharedLoader idleLoader = iterator.next();
+                if (idleLoader.references <= 0) {
+                    iterator.remove();
+                    idleCount--;
+                    try {
+                        idleLoader.classLoader.close();
+                    } catch (IOException e) {
+                        log.warn("Error while closing the dependency class loader : " + e.getMessage());
+                        log.debug("Error while closing the dependency class loader", e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class SharedLoader {
+        private URLClassLoader classLoader;
+        private int references;
+
+        SharedLoader(URLClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+    }
+}
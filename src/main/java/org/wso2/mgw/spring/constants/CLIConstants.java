@@ -6,13 +6,8 @@ import java.util.List;
 import java.util.regex.Pattern;
 
 public class CLIConstants {
-    public static final String SYSTEM_PROP_BASE_DIR = "basedir";
-    public static final String SYSTEM_PROP_TOOLKIT = "toolkit";
     public static final String PROJECT_API_DEFINITIONS_DIR = "api_definitions";
-    public static final String CLI_HOME = "cli.home";
     public static final String CLI_BIN = "bin";
-    public static final String SYS_PROP_CURRENT_DIR = "current.dir";
-    public static final String SYS_PROP_USER_DIR = "user.dir";
     public static final String PROJECT_GEN_DIR = "gen";
     public static final String PROJECT_TARGET_DIR = "target";
     public static final String JAR_EXTENSION = ".jar";
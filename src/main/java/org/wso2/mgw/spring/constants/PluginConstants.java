@@ -15,4 +15,15 @@ public class PluginConstants {
     public static final String FILE_TYPE = "file";
 
     public static final String BASE_PATH = "x-wso2-basePath";
+
+    public static final String PLUGIN_WORK_DIR = "mgw-spring";
+    public static final String SCAN_CACHE_FILE = "scan-index.cache";
+    public static final String PLUGIN_WORKSPACE_DIR = "workspace";
+
+    public static final String DEFAULT_CACHE_DIR = ".mgw-spring";
+    public static final int DEFAULT_ARTIFACT_CACHE_SIZE = 1024;
+    public static final int DEFAULT_TOOLKIT_TIMEOUT = 120;
+
+    public static final String OPENAPI_FORMAT_YAML = "yaml";
+    public static final String OPENAPI_FORMAT_JSON = "json";
 }
@@ -0,0 +1,79 @@
+package org.wso2.mgw.spring.loggers;
+
+/**
+ * Event of the micro-gw toolkit, parsed from a line of its output by the {@link BuildEventParser}.
+ */
+public class BuildEvent {
+
+    /**
+     * Type of the build event.
+     */
+    public enum Type {
+        PHASE_STARTED,
+        PHASE_FINISHED,
+        COMPILE_ERROR,
+        BUILD_FAILED,
+        ERROR,
+        WARNING,
+        ARTIFACT_WRITTEN,
+        BUILD_SUCCEEDED
+    }
+
+    private Type type;
+    private String value;
+    private String line;
+    private long duration;
+
+    BuildEvent(Type type, String value, String line, long duration) {
+        this.type = type;
+        this.value = value;
+        this.line = line;
+        this.duration = duration;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the phase name of a phase event, the source location of a compile error, the path of a written
+     * artifact or the message of the other events.
+     *
+     * @return value of the event
+     */
+    public String getValue() {
+        return value;
+    }
+
+    public String getLine() {
+        return line;
+    }
+
+    /**
+     * Returns the duration of a finished phase in milliseconds.
+     *
+     * @return phase duration, or zero for the other events
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    public boolean isError() {
+        return type == Type.COMPILE_ERROR || type == Type.BUILD_FAILED || type == Type.ERROR;
+    }
+
+    /**
+     * Returns whether the event fails the build. A generic error line, eg: logged by a library of the toolkit, does
+     * not fail the build by itself, hence is not fatal.
+     *
+     * @return true for a compile error or a failed build
+     */
+    public boolean isFatal() {
+        return type == Type.COMPILE_ERROR || type == Type.BUILD_FAILED;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + value;
+    }
+}
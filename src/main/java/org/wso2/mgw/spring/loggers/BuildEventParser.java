@@ -0,0 +1,178 @@
+package org.wso2.mgw.spring.loggers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parser of the micro-gw toolkit output into {@link BuildEvent}s. The patterns of every event are combined into a
+ * single pattern with a named group per event, hence each line is matched once irrespective of the number of
+ * events. The parser tracks the toolkit phases, logs the duration of each phase as soon as it finishes and passes
+ * the events to the registered listeners, eg: to abort the build on the first fatal error.
+ * <p>
+ * The output and error streams of a process are read by separate threads, which feed the same parser.
+ */
+public class BuildEventParser {
+    private static final Logger log = LoggerFactory.getLogger(BuildEventParser.class);
+
+    private static final Pattern EVENT_PATTERN = Pattern.compile("\\s*(?:"
+            // eg: error: wso2/petstore:3.0.0::petstore.bal:12:5: undefined symbol 'x'
+            + "(?<compileError>(?:error|ERROR):?\\s+\\[?(?<location>[^\\s\\]]+\\.bal(?::\\d+)*)\\]?.*)"
+            + "|(?<buildFailed>(?:BUILD FAILED|Compilation failed)\\b.*)"
+            // eg: ERROR StatusLogger No log4j2 configuration file found, which does not fail the build
+            + "|(?<error>(?:(?:error|ERROR|Exception in thread)\\b|Error:|micro-gw: Error).*)"
+            + "|(?<warning>(?:warning|WARNING|WARN)\\b.*)"
+            + "|(?<success>BUILD SUCCESSFUL|Project '[^']*' is initialized successfully).*"
+            + "|(?<phase>Initializing project|Generating sources|Compiling source|Running tests"
+            + "|Generating executables|Generating docker artifacts)(?:.*(?<done>\\[DONE\\]))?.*"
+            // eg: Target: /home/user/petstore/target/petstore.jar
+            + "|(?:Target:\\s*)?(?<artifact>\\S+\\.(?:jar|balx))\\s*"
+            + ")");
+
+    private final List<Consumer<BuildEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, Long> phaseDurations = new LinkedHashMap<>();
+    private final List<String> artifacts = new ArrayList<>();
+    private String currentPhase;
+    private long phaseStartTime;
+    private BuildEvent firstError;
+    private int warningCount;
+
+    /**
+     * Add a listener, which is called for every event from the thread which reads the line of the event.
+     *
+     * @param listener event listener
+     */
+    public void addListener(Consumer<BuildEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Parse a line of the toolkit output and pass the resulting events to the listeners.
+     *
+     * @param line line of the toolkit output
+     */
+    void parseLine(String line) {
+        Matcher matcher = EVENT_PATTERN.matcher(line);
+        if (!matcher.matches()) {
+            return;
+        }
+        List<BuildEvent> events = new ArrayList<>(2);
+        synchronized (this) {
+            if (matcher.group("compileError") != null) {
+                addError(new BuildEvent(BuildEvent.Type.COMPILE_ERROR, matcher.group("location"), line, 0), events);
+            } else if (matcher.group("buildFailed") != null) {
+                addError(new BuildEvent(BuildEvent.Type.BUILD_FAILED, line.trim(), line, 0), events);
+            } else if (matcher.group("error") != null) {
+                addError(new BuildEvent(BuildEvent.Type.ERROR, line.trim(), line, 0), events);
+            } else if (matcher.group("warning") != null) {
+                warningCount++;
+                events.add(new BuildEvent(BuildEvent.Type.WARNING, line.trim(), line, 0));
+            } else if (matcher.group("success") != null) {
+                finishPhase(line, events);
+                events.add(new BuildEvent(BuildEvent.Type.BUILD_SUCCEEDED, line.trim(), line, 0));
+            } else if (matcher.group("phase") != null) {
+                String phase = matcher.group("phase");
+                if (!phase.equals(currentPhase)) {
+                    finishPhase(line, events);
+                    currentPhase = phase;
+                    phaseStartTime = System.nanoTime();
+                    events.add(new BuildEvent(BuildEvent.Type.PHASE_STARTED, phase, line, 0));
+                }
+                if (matcher.group("done") != null) {
+                    finishPhase(line, events);
+                }
+            } else if (matcher.group("artifact") != null) {
+                artifacts.add(matcher.group("artifact"));
+                events.add(new BuildEvent(BuildEvent.Type.ARTIFACT_WRITTEN, matcher.group("artifact"), line, 0));
+            }
+        }
+        for (BuildEvent event : events) {
+            if (event.getType() == BuildEvent.Type.PHASE_FINISHED) {
+                log.info("Finished '" + event.getValue() + "' in " + formatDuration(event.getDuration()));
+            }
+            for (Consumer<BuildEvent> listener : listeners) {
+                listener.accept(event);
+            }
+        }
+    }
+
+    /**
+     * Finish the current phase once the process has exited, as the last phase has no following line.
+     */
+    public void finish() {
+        List<BuildEvent> events = new ArrayList<>(1);
+        synchronized (this) {
+            finishPhase(null, events);
+        }
+        for (BuildEvent event : events) {
+            log.info("Finished '" + event.getValue() + "' in " + formatDuration(event.getDuration()));
+            for (Consumer<BuildEvent> listener : listeners) {
+                listener.accept(event);
+            }
+        }
+    }
+
+    /**
+     * Log the duration of each phase, the number of warnings and the written artifacts.
+     *
+     * @param command toolkit command, eg: build
+     */
+    public synchronized void logSummary(String command) {
+        if (phaseDurations.isEmpty() && warningCount == 0 && artifacts.isEmpty()) {
+            return;
+        }
+        StringBuilder summary = new StringBuilder("micro-gw ").append(command).append(" summary :");
+        phaseDurations.forEach((phase, duration) -> summary.append(System.lineSeparator()).append("    ")
+                .append(phase).append(" : ").append(formatDuration(duration)));
+        if (warningCount > 0) {
+            summary.append(System.lineSeparator()).append("    Warnings : ").append(warningCount);
+        }
+        for (String artifact : artifacts) {
+            summary.append(System.lineSeparator()).append("    Artifact : ").append(artifact);
+        }
+        log.info(summary.toString());
+    }
+
+    /**
+     * Returns the first error reported by the toolkit.
+     *
+     * @return first error event, or null if no error is reported
+     */
+    public synchronized BuildEvent getFirstError() {
+        return firstError;
+    }
+
+    public synchronized Map<String, Long> getPhaseDurations() {
+        return new LinkedHashMap<>(phaseDurations);
+    }
+
+    private void addError(BuildEvent event, List<BuildEvent> events) {
+        if (firstError == null) {
+            firstError = event;
+        }
+        events.add(event);
+    }
+
+    private void finishPhase(String line, List<BuildEvent> events) {
+        if (currentPhase == null) {
+            return;
+        }
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - phaseStartTime);
+        phaseDurations.merge(currentPhase, duration, Long::sum);
+        events.add(new BuildEvent(BuildEvent.Type.PHASE_FINISHED, currentPhase, line, duration));
+        currentPhase = null;
+    }
+
+    private static String formatDuration(long millis) {
+        return String.format("%.1f s", millis / 1000.0);
+    }
+}
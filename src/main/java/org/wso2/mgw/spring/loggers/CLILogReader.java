@@ -2,17 +2,21 @@ package org.wso2.mgw.spring.loggers;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.mgw.spring.utils.ThreadUtils;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.mina.util.ConcurrentHashSet;
 
 /**
- * The log reader which reads the micro-gw log and passes them to the slf4j logger.
+ * The log reader which reads the micro-gw log and passes them to the slf4j logger. The reader blocks on the stream,
+ * hence it uses no CPU while the process is not writing. Lines which are already available are passed to the
+ * logger together as a batch.
  */
 public class CLILogReader implements Runnable {
     private final Logger log = LoggerFactory.getLogger(CLILogReader.class);
@@ -20,8 +24,10 @@ public class CLILogReader implements Runnable {
     private InputStream inputStream;
     private static final String STREAM_TYPE_IN = "inputStream";
     private static final String STREAM_TYPE_ERROR = "errorStream";
+    private static final int MAX_BATCH_SIZE = 64;
     private Thread thread;
     private volatile boolean running = true;
+    private volatile BuildEventParser eventParser;
 
     private ConcurrentHashSet<LogLeecher> leechers = new ConcurrentHashSet<>();
 
@@ -37,10 +43,10 @@ public class CLILogReader implements Runnable {
     }
 
     /**
-     * Start reading the stream.
+     * Start reading the stream. The stream is read by a virtual thread if the JVM supports them.
      */
     public void start() {
-        thread = new Thread(this);
+        thread = ThreadUtils.newLightweightThread("mgw-cli-" + streamType, this);
         thread.start();
     }
 
@@ -55,6 +61,29 @@ public class CLILogReader implements Runnable {
         }
     }
 
+    /**
+     * Wait until the reader reaches the end of the stream, so that the output written by the process just before
+     * it exits is not lost. If the stream is still open after the timeout, eg: it is inherited by a process which
+     * is still running, the reader is stopped and the stream is closed.
+     *
+     * @param timeout maximum time to wait in milliseconds
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void join(long timeout) throws InterruptedException {
+        if (thread == null) {
+            return;
+        }
+        thread.join(timeout);
+        if (thread.isAlive()) {
+            stop();
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                log.debug("Error occurred while closing the [" + streamType + "]", e);
+            }
+        }
+    }
+
     /**
      * Add a Leecher to this log reader.
      *
@@ -64,6 +93,16 @@ public class CLILogReader implements Runnable {
         leechers.add(leecher);
     }
 
+    /**
+     * Set the parser to which every line of the stream is fed. The parser can be shared by the readers of the output
+     * and the error streams of a process.
+     *
+     * @param eventParser parser of the build events
+     */
+    public void setEventParser(BuildEventParser eventParser) {
+        this.eventParser = eventParser;
+    }
+
     /**
      * Feed the current log line to all the leechers to validate.
      *
@@ -80,44 +119,47 @@ public class CLILogReader implements Runnable {
      * This will get executed when log reading is started.
      */
     public void run() {
-        InputStreamReader inputStreamReader = null;
-        BufferedReader bufferedReader = null;
-        try {
-            inputStreamReader = new InputStreamReader(inputStream, Charset.defaultCharset());
-            bufferedReader = new BufferedReader(inputStreamReader);
-            while (running) {
-                if (bufferedReader.ready()) {
-                    String s = bufferedReader.readLine();
-                    if (s == null) {
-                        break;
-                    }
-                    if (STREAM_TYPE_IN.equals(streamType)) {
-                        feedLeechers(s);
-                        log.info(s);
-                    } else if (STREAM_TYPE_ERROR.equals(streamType)) {
-                        log.error(s);
-                    }
-                } else {
-                    TimeUnit.MILLISECONDS.sleep(1);
-                }
+        List<String> batch = new ArrayList<>();
+        try (BufferedReader bufferedReader = new BufferedReader(
+                new InputStreamReader(inputStream, Charset.defaultCharset()))) {
+            String line;
+            // readLine blocks until a line is available, and returns null once the process closes the stream
+            while (running && (line = bufferedReader.readLine()) != null) {
+                do {
+                    batch.add(line);
+                } while (batch.size() < MAX_BATCH_SIZE && bufferedReader.ready()
+                        && (line = bufferedReader.readLine()) != null);
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (IOException ex) {
+            if (running) {
+                log.error("Problem reading the [" + streamType + "] due to: " + ex.getMessage(), ex);
             }
-        } catch (Exception ex) {
-            log.error("Problem reading the [" + streamType + "] due to: " + ex.getMessage(), ex);
         } finally {
-            if (inputStreamReader != null) {
-                try {
-                    inputStream.close();
-                    inputStreamReader.close();
-                } catch (IOException e) {
-                    log.error("Error occurred while closing the server log stream: " + e.getMessage(), e);
-                }
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+            }
+        }
+    }
+
+    /**
+     * Log the batch of lines at once and then feed each line to the leechers and the event parser, so that the
+     * events are logged after the lines which raised them.
+     */
+    private void writeBatch(List<String> lines) {
+        if (STREAM_TYPE_IN.equals(streamType)) {
+            log.info(String.join(System.lineSeparator(), lines));
+        } else if (STREAM_TYPE_ERROR.equals(streamType)) {
+            log.error(String.join(System.lineSeparator(), lines));
+        }
+        BuildEventParser parser = eventParser;
+        for (String line : lines) {
+            if (STREAM_TYPE_IN.equals(streamType)) {
+                feedLeechers(line);
             }
-            if (bufferedReader != null) {
-                try {
-                    bufferedReader.close();
-                } catch (IOException e) {
-                    log.error("Error occurred while closing the server log stream: " + e.getMessage(), e);
-                }
+            if (parser != null) {
+                parser.parseLine(line);
             }
         }
     }
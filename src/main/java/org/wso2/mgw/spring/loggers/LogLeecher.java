@@ -9,9 +9,9 @@ public class LogLeecher {
 
     private String text;
 
-    private boolean textFound = false;
+    private volatile boolean textFound = false;
 
-    private boolean forcedExit = false;
+    private volatile boolean forcedExit = false;
 
     /**
      * Initializes the Leecher with expected log.
@@ -25,10 +25,11 @@ public class LogLeecher {
     /**
      * Feed a log line to check if it matches the expected text.
      *
-     * @param logLIne The log line which was read
+     * @param logLine The log line which was read
      */
-    void feedLine(String logLIne) {
-        if (text.contains(logLIne)) {
+    void feedLine(String logLine) {
+        // Only the first match wakes up the waiting thread
+        if (!textFound && logLine.contains(text)) {
             textFound = true;
 
             synchronized (this) {
@@ -55,16 +56,16 @@ public class LogLeecher {
      */
     public void waitForText(long timeout) throws CLIExecutorException {
 
-        long startTime = System.currentTimeMillis();
+        long deadline = System.currentTimeMillis() + timeout;
 
         synchronized (this) {
-            while (!textFound || forcedExit) {
+            while (!textFound && !forcedExit) {
                 try {
-                    this.wait(timeout);
-
-                    if (System.currentTimeMillis() - startTime > timeout) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
                         throw new CLIExecutorException("Timeout expired waiting for matching log");
                     }
+                    this.wait(remaining);
                 } catch (InterruptedException e) {
                     throw new CLIExecutorException("Error waiting for text", e);
                 }
@@ -11,22 +11,22 @@ import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.wso2.mgw.spring.constants.PluginConstants;
+import org.wso2.mgw.spring.models.PathVariableModel;
 import org.wso2.mgw.spring.models.ResourceMapperModel;
+import org.wso2.mgw.spring.models.ResourceMethodModel;
 import org.wso2.mgw.spring.utils.ConverterUtils;
+import org.wso2.mgw.spring.utils.TypeClassifier;
 
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.HashSet;
+import java.util.Set;
 
 class OpenAPIResourceMapper {
 
-    private static final Pattern CURLY_BRACES_PATTERN = Pattern.compile("(?<=\\{)(?!\\s*\\{)[^{}]+");
     private ResourceMapperModel resourceMapperModel;
-    private Method method;
+    private ResourceMethodModel method;
 
-    OpenAPIResourceMapper(ResourceMapperModel resourceMapperModel, Method method) {
+    OpenAPIResourceMapper(ResourceMapperModel resourceMapperModel, ResourceMethodModel method) {
         this.resourceMapperModel = resourceMapperModel;
         this.method = method;
     }
@@ -37,8 +37,9 @@ class OpenAPIResourceMapper {
      *
      * @param openAPI  {@link OpenAPI} open API object of the service
      * @param schema swagger object schema
+     * @param routeTrie trie of the routes of the service, to which the added paths are added
      */
-     void addOrUpdatePathToOpenAPI(OpenAPI openAPI, Schema schema) {
+     void addOrUpdatePathToOpenAPI(OpenAPI openAPI, Schema schema, RouteTrie routeTrie) {
         PathItem path;
         if (openAPI.getPaths() == null) {
             openAPI.setPaths(new Paths());
@@ -47,15 +48,17 @@ class OpenAPIResourceMapper {
                 resourceMapperModel.getValue() :
                 resourceMapperModel.getPath();
         for (String servicePath : servicePaths) {
-            if (openAPI.getPaths().get(servicePath) != null) {
-                path = openAPI.getPaths().get(servicePath);
+            UriTemplate uriTemplate = UriTemplate.compile(servicePath);
+            if (openAPI.getPaths().get(uriTemplate.getPath()) != null) {
+                path = openAPI.getPaths().get(uriTemplate.getPath());
             } else {
                 path = new PathItem();
             }
 
-            Operation operation = createOperation(servicePath,schema);
+            Operation operation = createOperation(uriTemplate, schema);
             addOperationsToPath(path, operation);
-            openAPI.getPaths().addPathItem(servicePath, path);
+            openAPI.getPaths().addPathItem(uriTemplate.getPath(), path);
+            routeTrie.add(uriTemplate);
         }
     }
 
@@ -78,13 +81,13 @@ class OpenAPIResourceMapper {
     /**
      * Creates a new operation object using the RequestMapping object
      *
-     * @param servicePath path mentioned as annotation in spring service
+     * @param uriTemplate compiled path mentioned as annotation in spring service
      * @return a new operation object using the URI template object
      */
-    private Operation createOperation(String servicePath, Schema schema) {
+    private Operation createOperation(UriTemplate uriTemplate, Schema schema) {
         Operation operation = new Operation();
-        operation.setOperationId(method.getName() + servicePath.replaceAll("/", "_"));
-        populatePathParameters(operation, servicePath);
+        operation.setOperationId(method.getName() + uriTemplate.getOperationIdSuffix());
+        populatePathParameters(operation, uriTemplate);
 
         ApiResponses apiResponses = new ApiResponses();
         ApiResponse apiResponse = new ApiResponse();
@@ -112,41 +115,54 @@ class OpenAPIResourceMapper {
     }
 
     /**
-     * Construct path parameters to the Operation
+     * Construct path parameters to the Operation. The parameters are typed by the {@code @PathVariable} parameters
+     * of the method and constrained by the patterns of the URI template variables.
      *
-     * @param operation OpenAPI operation
-     * @param pathName  pathname
+     * @param operation   OpenAPI operation
+     * @param uriTemplate compiled URI template
      */
-    private void populatePathParameters(Operation operation, String pathName) {
-        List<String> pathParams = getPathParamNames(pathName);
-        Parameter parameter;
-        if (pathParams.size() > 0) {
-            for (String pathParam : pathParams) {
-                parameter = new Parameter();
-                parameter.setName(pathParam);
-                parameter.setRequired(true);
-                parameter.setIn("path");
-                Schema schema = new Schema();
-                schema.setType("string");
-                parameter.setSchema(schema);
-                operation.addParametersItem(parameter);
+    private void populatePathParameters(Operation operation, UriTemplate uriTemplate) {
+        Set<String> pathParamNames = new HashSet<>();
+        for (UriTemplate.Variable variable : uriTemplate.getVariables()) {
+            if (!pathParamNames.add(variable.getName())) {
+                continue;
             }
+            Parameter parameter = new Parameter();
+            parameter.setName(variable.getName());
+            parameter.setRequired(true);
+            parameter.setIn("path");
+            Schema schema = new Schema();
+            Class<?> type = getPathVariableType(variable.getName());
+            String dataType = type != null ? TypeClassifier.getDataType(type) : null;
+            if (PluginConstants.INTEGER_TYPE.equals(dataType) || PluginConstants.NUMBER_TYPE.equals(dataType)
+                    || PluginConstants.BOOLEAN_TYPE.equals(dataType)) {
+                schema.setType(dataType);
+                schema.setFormat(TypeClassifier.getDataFormat(type));
+            } else {
+                schema.setType(PluginConstants.STRING_TYPE);
+                // Spring matches the constraint against the whole segment, while an open API pattern is a search
+                if (variable.getPattern() != null) {
+                    schema.setPattern("^(?:" + variable.getPattern() + ")$");
+                }
+            }
+            parameter.setSchema(schema);
+            operation.addParametersItem(parameter);
         }
     }
 
     /**
-     * Extract and return path parameters in the given URI template
+     * Returns the type of the method parameter bound to the given URI template variable.
      *
-     * @param uriTemplate URI Template value
-     * @return path parameters in the given URI template
+     * @param name variable name
+     * @return the parameter type or null if the variable is not bound, or is bound to a type other than the JDK
+     * value types
      */
-    private List<String> getPathParamNames(String uriTemplate) {
-        List<String> params = new ArrayList<String>();
-
-        Matcher bracesMatcher = CURLY_BRACES_PATTERN.matcher(uriTemplate);
-        while (bracesMatcher.find()) {
-            params.add(bracesMatcher.group());
+    private Class<?> getPathVariableType(String name) {
+        for (PathVariableModel pathVariable : method.getPathVariables()) {
+            if (pathVariable.getName().equals(name)) {
+                return TypeClassifier.getType(pathVariable.getDescriptor());
+            }
         }
-        return params;
+        return null;
     }
 }
@@ -1,66 +1,81 @@
 package org.wso2.mgw.spring.mappers;
 
-import io.swagger.models.properties.Property;
-import io.swagger.v3.core.converter.ModelConverters;
-import io.swagger.v3.core.converter.ResolvedSchema;
 import io.swagger.v3.core.util.Yaml;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.media.Schema;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.project.MavenProject;
-import org.reflections.Reflections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.web.bind.annotation.DeleteMapping;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PatchMapping;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.PutMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestMethod;
 import org.wso2.mgw.spring.RequestMethodType;
 import org.wso2.mgw.spring.constants.PluginConstants;
-import org.wso2.mgw.spring.models.ResourceMapperModel;
+import org.wso2.mgw.spring.models.ResourceMethodModel;
+import org.wso2.mgw.spring.models.ServiceClassModel;
+import org.wso2.mgw.spring.scanners.AnnotationIndex;
 import org.wso2.mgw.spring.utils.ConverterUtils;
 
 import java.lang.reflect.Method;
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 public class OpenAPIServiceMapper {
     private static final Logger log = LoggerFactory.getLogger(OpenAPIServiceMapper.class);
 
     private OpenAPI openAPI;
-    private Class<?> serviceClass;
-    private Set<Class<?>> compositeServiceClasses;
-    private Reflections reflections;
+    private ServiceClassModel serviceClass;
+    private Set<ServiceClassModel> compositeServiceClasses;
+    private Set<String> reservedBasePaths = Collections.emptySet();
+    private AnnotationIndex annotationIndex;
     private MavenProject mavenProject;
     private Properties projectProperties;
     private boolean isExtendedOpenAPI;
+    private ClassLoader projectClassLoader;
+    private SchemaRegistry schemaRegistry;
+    private RouteTrie routeTrie = new RouteTrie();
 
-    public OpenAPIServiceMapper(Reflections reflections, MavenProject project, Properties projectProperties,
-            Class<?> serviceClass, boolean isExtendedOpenAPI) {
+    public OpenAPIServiceMapper(AnnotationIndex annotationIndex, MavenProject project, Properties projectProperties,
+            ServiceClassModel serviceClass, boolean isExtendedOpenAPI, ClassLoader projectClassLoader,
+            SchemaRegistry schemaRegistry) {
         this.serviceClass = serviceClass;
-        this.reflections = reflections;
+        this.annotationIndex = annotationIndex;
         this.mavenProject = project;
         this.projectProperties = projectProperties;
         this.isExtendedOpenAPI = isExtendedOpenAPI;
+        this.projectClassLoader = projectClassLoader;
+        this.schemaRegistry = schemaRegistry;
         generateOpenAPI();
     }
 
-    public OpenAPIServiceMapper(Reflections reflections, MavenProject project, Properties projectProperties,
-            Set<Class<?>> serviceClasses, boolean isExtendedOpenAPI) {
+    /**
+     * Map the controllers without a base path to a composite service.
+     *
+     * @param annotationIndex    index of the scanned controllers
+     * @param project            maven project
+     * @param projectProperties  application properties of the project
+     * @param serviceClasses     controllers without a base path
+     * @param reservedBasePaths  base paths of the other services, which the composite service must not overlap
+     * @param isExtendedOpenAPI  whether to add the response schemas
+     * @param projectClassLoader class loader of the project classes
+     * @param schemaRegistry     registry of the response schemas
+     */
+    public OpenAPIServiceMapper(AnnotationIndex annotationIndex, MavenProject project, Properties projectProperties,
+            Set<ServiceClassModel> serviceClasses, Set<String> reservedBasePaths, boolean isExtendedOpenAPI,
+            ClassLoader projectClassLoader, SchemaRegistry schemaRegistry) {
         this.compositeServiceClasses = serviceClasses;
-        this.reflections = reflections;
+        this.reservedBasePaths = reservedBasePaths;
+        this.annotationIndex = annotationIndex;
         this.mavenProject = project;
         this.projectProperties = projectProperties;
         this.isExtendedOpenAPI = isExtendedOpenAPI;
+        this.projectClassLoader = projectClassLoader;
+        this.schemaRegistry = schemaRegistry;
         generateOpenAPI();
     }
 
@@ -71,7 +86,6 @@ public class OpenAPIServiceMapper {
     }
 
     private void generateOpenAPI() {
-        String basePath = getServiceBasePath();
         openAPI = new OpenAPI();
         Info info = new Info();
         if(serviceClass != null) {
@@ -84,9 +98,31 @@ public class OpenAPIServiceMapper {
             info.setVersion(mavenProject.getVersion());
         }
         openAPI.setInfo(info);
+        setServicePathsToOpenAPI();
+        String basePath = getServiceBasePath();
+        if (openAPI.getPaths() != null) {
+            routeTrie.reportConflicts(openAPI.getPaths(), info.getTitle());
+            // The controllers of the composite service have no base path, hence their shared prefix is used unless
+            // another service already serves it
+            String commonPrefix = compositeServiceClasses != null ? routeTrie.getCommonPrefix(reservedBasePaths) : "";
+            if (!commonPrefix.isEmpty()) {
+                basePath = commonPrefix;
+            }
+            openAPI.setPaths(routeTrie.getOrderedPaths(openAPI.getPaths(), !commonPrefix.isEmpty()));
+        }
         openAPI.addExtension(PluginConstants.BASE_PATH, basePath);
         setEndpointToOpenAPI(basePath);
-        setServicePathsToOpenAPI();
+        sortComponentSchemas();
+    }
+
+    /**
+     * Sort the component schemas by name, as they are added in the order of the methods which refer to them.
+     */
+    private void sortComponentSchemas() {
+        if (openAPI.getComponents() != null && openAPI.getComponents().getSchemas() != null) {
+            openAPI.getComponents().setSchemas(new LinkedHashMap<>(new TreeMap<>(openAPI.getComponents()
+                    .getSchemas())));
+        }
     }
 
     private void setEndpointToOpenAPI(String basePath) {
@@ -96,18 +132,15 @@ public class OpenAPIServiceMapper {
     }
 
     private String getServiceBasePath() {
-        if (serviceClass != null) {
-            RequestMapping requestMappingAnnotation = serviceClass.getAnnotation(RequestMapping.class);
-            if (requestMappingAnnotation != null) {
-                return requestMappingAnnotation.value()[0];
-            }
+        if (serviceClass != null && serviceClass.getBasePaths().length > 0) {
+            return serviceClass.getBasePaths()[0];
         }
         return "/";
     }
 
     private void setServicePathsToOpenAPI() {
 
-        Map<RequestMethodType, Set<Method>> operationsMap;
+        Map<RequestMethodType, Set<ResourceMethodModel>> operationsMap;
         if (compositeServiceClasses != null) {
             operationsMap = getMethodsWithResourceMappingsForCompositeService();
         } else {
@@ -115,133 +148,71 @@ public class OpenAPIServiceMapper {
         }
 
         operationsMap.forEach((key, methods) -> methods.forEach(method -> {
-            ResourceMapperModel resourceMapperModel = null;
-            switch (key) {
-            case DEFAULT:
-                resourceMapperModel = buildRequestMapper(method.getAnnotation(RequestMapping.class));
-                break;
-            case GET:
-                resourceMapperModel = buildRequestMapperFromGet(method.getAnnotation(GetMapping.class));
-                break;
-            case PUT:
-                resourceMapperModel = buildRequestMapperFromPut(method.getAnnotation(PutMapping.class));
-                break;
-            case DELETE:
-                resourceMapperModel = buildRequestMapperFromDelete(method.getAnnotation(DeleteMapping.class));
-                break;
-            case POST:
-                resourceMapperModel = buildRequestMapperFromPost(method.getAnnotation(PostMapping.class));
-                break;
-            case PATCH:
-                resourceMapperModel = buildRequestMapperFromPatch(method.getAnnotation(PatchMapping.class));
-            }
-            OpenAPIResourceMapper openAPIResourceMapper = new OpenAPIResourceMapper(resourceMapperModel, method);
+            OpenAPIResourceMapper openAPIResourceMapper = new OpenAPIResourceMapper(
+                    method.getResourceMapperModel(), method);
             Schema schema = null;
             if (isExtendedOpenAPI) {
-                schema = setSchemasToComponents(method);
+                Method reflectMethod = loadMethod(method);
+                if (reflectMethod != null) {
+                    schema = setSchemasToComponents(reflectMethod);
+                }
             }
-            openAPIResourceMapper.addOrUpdatePathToOpenAPI(openAPI, schema);
+            openAPIResourceMapper.addOrUpdatePathToOpenAPI(openAPI, schema, routeTrie);
 
         }));
     }
 
+    /**
+     * Load the reflective method of the given resource method through the project class loader. Only the schema
+     * generation needs the actual return types, hence the controller classes are loaded only when the extended
+     * open API is requested.
+     *
+     * @param resourceMethod resource method read from the class file
+     * @return the matching method or null if the declaring class cannot be loaded
+     */
+    private Method loadMethod(ResourceMethodModel resourceMethod) {
+        try {
+            Class<?> declaringClass = Class.forName(resourceMethod.getDeclaringClassName(), false,
+                    projectClassLoader);
+            for (Method method : declaringClass.getDeclaredMethods()) {
+                if (method.getName().equals(resourceMethod.getName()) && resourceMethod.getDescriptor()
+                        .equals(ConverterUtils.getMethodDescriptor(method))) {
+                    return method;
+                }
+            }
+        } catch (ClassNotFoundException | LinkageError e) {
+            String message = "Error while loading the class '" + resourceMethod.getDeclaringClassName()
+                    + "' to resolve the response schema";
+            log.warn(message + " : " + e.getMessage());
+            log.debug(message, e);
+        }
+        return null;
+    }
+
     private Schema setSchemasToComponents(Method method) {
+        SchemaRegistry.ResponseSchema responseSchema = schemaRegistry.getResponseSchema(method);
+        if (responseSchema == null) {
+            return null;
+        }
         Components components = openAPI.getComponents();
         if (components == null) {
             components = new Components();
             openAPI.setComponents(components);
         }
-        Schema schema = new Schema();
-        if (Collection.class.isAssignableFrom(method.getReturnType())) {
-            ResolvedSchema resolvedSchema = ModelConverters.getInstance()
-                    .readAllAsResolvedSchema(method.getGenericReturnType());
-            schema.setType(PluginConstants.ARRAY_TYPE);
-            schema.setProperties(resolvedSchema.referencedSchemas);
-            String refName = resolveCollectionGenericType(method);
-            openAPI.getComponents().addSchemas(refName, schema);
-            Schema refSchema = new Schema();
-            refSchema.setType(refName);
-            refSchema.set$ref(refName);
-            return refSchema;
-        } else if (ConverterUtils.isPrimitive(method.getReturnType())) {
-            Property property = io.swagger.converter.ModelConverters.getInstance()
-                    .readAsProperty(method.getReturnType());
-            schema.setType(property.getType());
-            return schema;
-        } else {
-            ResolvedSchema resolvedSchema = ModelConverters.getInstance()
-                    .readAllAsResolvedSchema(method.getReturnType());
-            openAPI.getComponents().addSchemas(method.getReturnType().getSimpleName(), resolvedSchema.schema);
-            resolvedSchema.referencedSchemas.forEach((key, value) -> {
-                openAPI.getComponents().addSchemas(key, value);
-            });
-            Schema refSchema = new Schema();
-            refSchema.set$ref(method.getReturnType().getSimpleName());
-            return refSchema;
-        }
+        responseSchema.getComponentSchemas().forEach(components::addSchemas);
+        return responseSchema.getSchema();
     }
 
-    private String resolveCollectionGenericType(Method method) {
-        String genericTypeName = method.getGenericReturnType().getTypeName();
-        String collectionDataHolderFullType = StringUtils.substringBetween(genericTypeName, "<", ">");
-        String[] splittedFullTypeName = collectionDataHolderFullType.split("\\.");
-        return splittedFullTypeName[splittedFullTypeName.length - 1] + method.getReturnType().getSimpleName();
+    private Map<RequestMethodType, Set<ResourceMethodModel>> getMethodsWithResourceMappings() {
+        return annotationIndex.getResourceMethods(serviceClass.getName());
     }
 
-
-    private Map<RequestMethodType, Set<Method>> getMethodsWithResourceMappings() {
-        Map<RequestMethodType, Set<Method>> operationsMap = new HashMap<>();
-        operationsMap.put(RequestMethodType.DEFAULT, reflections.getMethodsAnnotatedWith(RequestMapping.class).stream()
-                .filter(method -> serviceClass.getName().equals(method.getDeclaringClass().getName()))
-                .collect(Collectors.toSet()));
-        // Add all get operations
-        operationsMap.put(RequestMethodType.GET, reflections.getMethodsAnnotatedWith(GetMapping.class).stream()
-                .filter(method -> serviceClass.getName().equals(method.getDeclaringClass().getName()))
-                .collect(Collectors.toSet()));
-        // Add all post operations
-        operationsMap.put(RequestMethodType.POST, reflections.getMethodsAnnotatedWith(PostMapping.class).stream()
-                .filter(method -> serviceClass.getName().equals(method.getDeclaringClass().getName()))
-                .collect(Collectors.toSet()));
-        // Add all put operations
-        operationsMap.put(RequestMethodType.PUT, reflections.getMethodsAnnotatedWith(PutMapping.class).stream()
-                .filter(method -> serviceClass.getName().equals(method.getDeclaringClass().getName()))
-                .collect(Collectors.toSet()));
-        // Add all delete operations
-        operationsMap.put(RequestMethodType.DELETE, reflections.getMethodsAnnotatedWith(DeleteMapping.class).stream()
-                .filter(method -> serviceClass.getName().equals(method.getDeclaringClass().getName()))
-                .collect(Collectors.toSet()));
-        // Add all patch operations
-        operationsMap.put(RequestMethodType.PATCH, reflections.getMethodsAnnotatedWith(PatchMapping.class).stream()
-                .filter(method -> serviceClass.getName().equals(method.getDeclaringClass().getName()))
-                .collect(Collectors.toSet()));
-        return operationsMap;
-    }
-
-    private Map<RequestMethodType, Set<Method>> getMethodsWithResourceMappingsForCompositeService() {
-        Map<RequestMethodType, Set<Method>> operationsMap = new HashMap<>();
-        operationsMap.put(RequestMethodType.DEFAULT, reflections.getMethodsAnnotatedWith(RequestMapping.class).stream()
-                .filter(method -> compositeServiceClasses.contains(method.getDeclaringClass()))
-                .collect(Collectors.toSet()));
-        // Add all get operations
-        operationsMap.put(RequestMethodType.GET, reflections.getMethodsAnnotatedWith(GetMapping.class).stream()
-                .filter(method -> compositeServiceClasses.contains(method.getDeclaringClass()))
-                .collect(Collectors.toSet()));
-        // Add all post operations
-        operationsMap.put(RequestMethodType.POST, reflections.getMethodsAnnotatedWith(PostMapping.class).stream()
-                .filter(method -> compositeServiceClasses.contains(method.getDeclaringClass()))
-                .collect(Collectors.toSet()));
-        // Add all put operations
-        operationsMap.put(RequestMethodType.PUT, reflections.getMethodsAnnotatedWith(PutMapping.class).stream()
-                .filter(method -> compositeServiceClasses.contains(method.getDeclaringClass()))
-                .collect(Collectors.toSet()));
-        // Add all delete operations
-        operationsMap.put(RequestMethodType.DELETE, reflections.getMethodsAnnotatedWith(DeleteMapping.class).stream()
-                .filter(method -> compositeServiceClasses.contains(method.getDeclaringClass()))
-                .collect(Collectors.toSet()));
-        // Add all patch operations
-        operationsMap.put(RequestMethodType.PATCH, reflections.getMethodsAnnotatedWith(PatchMapping.class).stream()
-                .filter(method -> compositeServiceClasses.contains(method.getDeclaringClass()))
-                .collect(Collectors.toSet()));
+    private Map<RequestMethodType, Set<ResourceMethodModel>> getMethodsWithResourceMappingsForCompositeService() {
+        Map<RequestMethodType, Set<ResourceMethodModel>> operationsMap = new EnumMap<>(RequestMethodType.class);
+        for (ServiceClassModel compositeServiceClass : compositeServiceClasses) {
+            annotationIndex.getResourceMethods(compositeServiceClass.getName()).forEach((requestMethodType, methods) ->
+                    operationsMap.computeIfAbsent(requestMethodType, key -> new TreeSet<>()).addAll(methods));
+        }
         return operationsMap;
     }
 
@@ -260,50 +231,6 @@ public class OpenAPIServiceMapper {
         }
     }
 
-    private ResourceMapperModel buildRequestMapper(RequestMapping requestMappingAnnotation) {
-        return new ResourceMapperModel.Builder(requestMappingAnnotation.name())
-                .headers(requestMappingAnnotation.headers()).consumes(requestMappingAnnotation.consumes())
-                .method(requestMappingAnnotation.method()).params(requestMappingAnnotation.params())
-                .path(requestMappingAnnotation.path()).produces(requestMappingAnnotation.produces())
-                .value(requestMappingAnnotation.value()).build();
-    }
-
-    private ResourceMapperModel buildRequestMapperFromGet(GetMapping getMappingAnnotation) {
-        return new ResourceMapperModel.Builder(getMappingAnnotation.name()).headers(getMappingAnnotation.headers())
-                .consumes(getMappingAnnotation.consumes()).method(new RequestMethod[] { RequestMethod.GET })
-                .params(getMappingAnnotation.params()).path(getMappingAnnotation.path())
-                .produces(getMappingAnnotation.produces()).value(getMappingAnnotation.value()).build();
-    }
-
-    private ResourceMapperModel buildRequestMapperFromPut(PutMapping putMappingAnnotation) {
-        return new ResourceMapperModel.Builder(putMappingAnnotation.name()).headers(putMappingAnnotation.headers())
-                .consumes(putMappingAnnotation.consumes()).method(new RequestMethod[] { RequestMethod.PUT })
-                .params(putMappingAnnotation.params()).value(putMappingAnnotation.value())
-                .path(putMappingAnnotation.path()).produces(putMappingAnnotation.produces()).build();
-    }
-
-    private ResourceMapperModel buildRequestMapperFromPost(PostMapping postMappingAnnotation) {
-        return new ResourceMapperModel.Builder(postMappingAnnotation.name()).headers(postMappingAnnotation.headers())
-                .consumes(postMappingAnnotation.consumes()).method(new RequestMethod[] { RequestMethod.POST })
-                .params(postMappingAnnotation.params()).path(postMappingAnnotation.path())
-                .produces(postMappingAnnotation.produces()).value(postMappingAnnotation.value()).build();
-    }
-
-    private ResourceMapperModel buildRequestMapperFromDelete(DeleteMapping deleteMappingAnnotation) {
-        return new ResourceMapperModel.Builder(deleteMappingAnnotation.name())
-                .headers(deleteMappingAnnotation.headers()).consumes(deleteMappingAnnotation.consumes())
-                .method(new RequestMethod[] { RequestMethod.DELETE }).params(deleteMappingAnnotation.params())
-                .path(deleteMappingAnnotation.path()).produces(deleteMappingAnnotation.produces())
-                .value(deleteMappingAnnotation.value()).build();
-    }
-
-    private ResourceMapperModel buildRequestMapperFromPatch(PatchMapping patchMappingAnnotation) {
-        return new ResourceMapperModel.Builder(patchMappingAnnotation.name()).headers(patchMappingAnnotation.headers())
-                .consumes(patchMappingAnnotation.consumes()).method(new RequestMethod[] { RequestMethod.PATCH })
-                .params(patchMappingAnnotation.params()).path(patchMappingAnnotation.path())
-                .produces(patchMappingAnnotation.produces()).value(patchMappingAnnotation.value()).build();
-    }
-
     public OpenAPI getOpenAPI() {
         return openAPI;
     }
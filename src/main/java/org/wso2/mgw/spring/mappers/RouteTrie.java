@@ -0,0 +1,315 @@
+package org.wso2.mgw.spring.mappers;
+
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Trie of the URI templates of a service, keyed by path segment. The trie is used to detect the routes which can
+ * match the same request, to find the literal prefix shared by all the routes and to order the routes so that the
+ * literal segments come before the template segments at each level.
+ */
+class RouteTrie {
+    private static final Logger log = LoggerFactory.getLogger(RouteTrie.class);
+
+    private final Node root = new Node(null);
+    private int prefixLength;
+
+    /**
+     * Add the given URI template to the trie. Templates which differ only in the constraint patterns or the leading
+     * and trailing '/' end in the same node.
+     *
+     * @param uriTemplate compiled URI template
+     */
+    void add(UriTemplate uriTemplate) {
+        Node node = root;
+        for (UriTemplate.Segment segment : uriTemplate.getSegments()) {
+            Map<String, Node> children = segment.isLiteral() ? node.literalChildren : node.templateChildren;
+            node = children.computeIfAbsent(segment.getValue(), value -> new Node(segment));
+        }
+        node.routes.put(uriTemplate.getPath(), uriTemplate);
+    }
+
+    /**
+     * Log the routes which match the same request for a common HTTP method. A route with a literal segment where
+     * the other has a variable shadows the other route, as spring selects the more specific route. Routes where
+     * neither is more specific are ambiguous.
+     *
+     * @param paths   open API paths of the routes
+     * @param apiName name of the API to be logged
+     */
+    void reportConflicts(Paths paths, String apiName) {
+        List<UriTemplate[]> conflicts = new ArrayList<>();
+        collectConflicts(root, root, conflicts);
+        for (UriTemplate[] conflict : conflicts) {
+            Set<PathItem.HttpMethod> httpMethods = getHttpMethods(paths, conflict[0]);
+            httpMethods.retainAll(getHttpMethods(paths, conflict[1]));
+            if (httpMethods.isEmpty()) {
+                continue;
+            }
+            int specificity = compareSpecificity(conflict[0], conflict[1]);
+            if (specificity == 0) {
+                log.warn("Routes '" + conflict[0].getPath() + "' and '" + conflict[1].getPath() + "' of '" + apiName
+                        + "' are ambiguous for " + httpMethods);
+            } else {
+                UriTemplate specific = specificity > 0 ? conflict[0] : conflict[1];
+                UriTemplate general = specificity > 0 ? conflict[1] : conflict[0];
+                log.info("Route '" + specific.getPath() + "' of '" + apiName + "' shadows '" + general.getPath()
+                        + "' for " + httpMethods);
+            }
+        }
+    }
+
+    /**
+     * Collect the pairs of distinct routes below the given nodes which can match the same path. Both nodes are at
+     * the same depth, hence the routes have the same number of segments.
+     */
+    private void collectConflicts(Node first, Node second, List<UriTemplate[]> conflicts) {
+        for (UriTemplate firstRoute : first.routes.values()) {
+            for (UriTemplate secondRoute : second.routes.values()) {
+                // Every pair is visited in both orders, hence only one order is recorded
+                if (firstRoute.getPath().compareTo(secondRoute.getPath()) < 0) {
+                    conflicts.add(new UriTemplate[] { firstRoute, secondRoute });
+                }
+            }
+        }
+        for (Node firstChild : first.getChildren()) {
+            for (Node secondChild : second.getChildren()) {
+                if (firstChild.canMatchSameSegment(secondChild)) {
+                    collectConflicts(firstChild, secondChild, conflicts);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compare the specificity of two routes of the same length by the first segment where only one of them is a
+     * literal.
+     *
+     * @return positive if the first route is more specific, negative if the second is and zero if neither is
+     */
+    private int compareSpecificity(UriTemplate first, UriTemplate second) {
+        int specificity = 0;
+        for (int i = 0; i < first.getSegments().size(); i++) {
+            boolean firstLiteral = first.getSegments().get(i).isLiteral();
+            boolean secondLiteral = second.getSegments().get(i).isLiteral();
+            if (firstLiteral != secondLiteral) {
+                int segmentSpecificity = firstLiteral ? 1 : -1;
+                if (specificity != 0 && specificity != segmentSpecificity) {
+                    return 0;
+                }
+                specificity = segmentSpecificity;
+            }
+        }
+        return specificity;
+    }
+
+    private Set<PathItem.HttpMethod> getHttpMethods(Paths paths, UriTemplate uriTemplate) {
+        PathItem pathItem = paths.get(uriTemplate.getPath());
+        Set<PathItem.HttpMethod> httpMethods = EnumSet.noneOf(PathItem.HttpMethod.class);
+        if (pathItem != null) {
+            httpMethods.addAll(pathItem.readOperationsMap().keySet());
+        }
+        return httpMethods;
+    }
+
+    /**
+     * Returns the literal path prefix shared by all the routes, which can be used as the base path of the service.
+     * The prefix never covers a whole route, so that no route is left with an empty path.
+     *
+     * @return the common prefix. eg: /api/orders, or an empty string if the routes have no common prefix
+     */
+    String getCommonPrefix() {
+        StringBuilder prefix = new StringBuilder();
+        prefixLength = 0;
+        Node node = root;
+        while (node.routes.isEmpty() && node.templateChildren.isEmpty() && node.literalChildren.size() == 1) {
+            Node child = node.literalChildren.values().iterator().next();
+            if (!child.routes.isEmpty()) {
+                break;
+            }
+            prefix.append('/').append(child.segment.getValue());
+            prefixLength++;
+            node = child;
+        }
+        return prefix.toString();
+    }
+
+    /**
+     * Returns the literal path prefix shared by all the routes, unless the prefix equals or nests with one of the
+     * given base paths. A base path is served by another API of the same gateway project, hence a prefix which
+     * overlaps it would give two APIs routing the same requests. Shortening an overlapping prefix still overlaps the
+     * base path, hence the prefix is dropped altogether.
+     *
+     * @param reservedBasePaths base paths of the other services
+     * @return the common prefix, or an empty string if the routes have no common prefix or the prefix overlaps one
+     * of the base paths
+     */
+    String getCommonPrefix(Set<String> reservedBasePaths) {
+        String prefix = getCommonPrefix();
+        if (prefix.isEmpty()) {
+            return prefix;
+        }
+        List<UriTemplate.Segment> prefixSegments = UriTemplate.compile(prefix).getSegments();
+        for (String basePath : reservedBasePaths) {
+            List<UriTemplate.Segment> baseSegments = UriTemplate.compile(basePath).getSegments();
+            if (!baseSegments.isEmpty() && isSegmentPrefix(prefixSegments, baseSegments)) {
+                log.debug("The common prefix '" + prefix + "' overlaps the base path '" + basePath
+                        + "' of another service, hence it is not used as the base path");
+                prefixLength = 0;
+                return "";
+            }
+        }
+        return prefix;
+    }
+
+    /**
+     * Returns whether the shorter of the given segment lists is a prefix of the other. A template segment of the
+     * base path is assumed to match any literal segment of the prefix.
+     */
+    private boolean isSegmentPrefix(List<UriTemplate.Segment> prefixSegments,
+            List<UriTemplate.Segment> baseSegments) {
+        int length = Math.min(prefixSegments.size(), baseSegments.size());
+        for (int i = 0; i < length; i++) {
+            UriTemplate.Segment baseSegment = baseSegments.get(i);
+            if (baseSegment.isLiteral() && !baseSegment.getValue().equals(prefixSegments.get(i).getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the given paths ordered by the trie, where the routes with literal segments come before the routes with
+     * template segments at the same level. If the common prefix is used as the base path, the prefix is removed from
+     * the paths.
+     *
+     * @param paths        open API paths of the routes
+     * @param removePrefix whether to remove the prefix returned by {@link #getCommonPrefix()}
+     * @return ordered paths
+     */
+    Paths getOrderedPaths(Paths paths, boolean removePrefix) {
+        Paths orderedPaths = new Paths();
+        if (paths.getExtensions() != null) {
+            orderedPaths.setExtensions(paths.getExtensions());
+        }
+        addOrderedPaths(root, paths, removePrefix ? prefixLength : 0, orderedPaths);
+        return orderedPaths;
+    }
+
+    private void addOrderedPaths(Node node, Paths paths, int removedSegments, Paths orderedPaths) {
+        for (UriTemplate route : node.routes.values()) {
+            PathItem pathItem = paths.get(route.getPath());
+            if (pathItem == null) {
+                continue;
+            }
+            String path = removedSegments > 0 ? removeSegments(route, removedSegments) : route.getPath();
+            PathItem existingPathItem = orderedPaths.get(path);
+            if (existingPathItem != null) {
+                // eg: /api/orders and api/orders end up in the same path once the prefix is removed
+                pathItem.readOperationsMap().forEach(existingPathItem::operation);
+            } else {
+                orderedPaths.addPathItem(path, pathItem);
+            }
+        }
+        for (Node child : node.getChildren()) {
+            addOrderedPaths(child, paths, removedSegments, orderedPaths);
+        }
+    }
+
+    private String removeSegments(UriTemplate route, int removedSegments) {
+        StringBuilder path = new StringBuilder();
+        List<UriTemplate.Segment> segments = route.getSegments();
+        for (int i = removedSegments; i < segments.size(); i++) {
+            path.append('/').append(segments.get(i).getValue());
+        }
+        if (route.getPath().endsWith("/")) {
+            path.append('/');
+        }
+        return path.toString();
+    }
+
+    private static class Node {
+        private final UriTemplate.Segment segment;
+        private final Map<String, Node> literalChildren = new TreeMap<>();
+        private final Map<String, Node> templateChildren = new TreeMap<>();
+        private final Map<String, UriTemplate> routes = new TreeMap<>();
+        private Pattern segmentPattern;
+
+        private Node(UriTemplate.Segment segment) {
+            this.segment = segment;
+        }
+
+        /**
+         * Returns the child nodes, the literal segments ahead of the template segments.
+         */
+        private List<Node> getChildren() {
+            List<Node> children = new ArrayList<>(literalChildren.values());
+            children.addAll(templateChildren.values());
+            return children;
+        }
+
+        private boolean canMatchSameSegment(Node other) {
+            if (segment.isLiteral() && other.segment.isLiteral()) {
+                return segment.getValue().equals(other.segment.getValue());
+            } else if (segment.isLiteral()) {
+                return other.matches(segment.getValue());
+            } else if (other.segment.isLiteral()) {
+                return matches(other.segment.getValue());
+            }
+            return true;
+        }
+
+        /**
+         * Returns whether the template segment of this node matches the given literal segment. Segments with a
+         * constraint pattern which is not a valid java pattern are assumed to match.
+         */
+        private boolean matches(String literal) {
+            if (segmentPattern == null) {
+                try {
+                    segmentPattern = Pattern.compile(toRegex(segment));
+                } catch (PatternSyntaxException e) {
+                    return true;
+                }
+            }
+            return segmentPattern.matcher(literal).matches();
+        }
+
+        private static String toRegex(UriTemplate.Segment segment) {
+            StringBuilder regex = new StringBuilder();
+            String value = segment.getValue();
+            int start = 0;
+            for (UriTemplate.Variable variable : segment.getVariables()) {
+                String placeholder = "{" + variable.getName() + "}";
+                int index = value.indexOf(placeholder, start);
+                if (index < 0) {
+                    break;
+                }
+                if (index > start) {
+                    regex.append(Pattern.quote(value.substring(start, index)));
+                }
+                if (variable.isCatchAll()) {
+                    regex.append(".*");
+                } else {
+                    regex.append('(').append(variable.getPattern() != null ? variable.getPattern() : "[^/]*")
+                            .append(')');
+                }
+                start = index + placeholder.length();
+            }
+            if (start < value.length()) {
+                regex.append(Pattern.quote(value.substring(start)));
+            }
+            return regex.toString();
+        }
+    }
+}
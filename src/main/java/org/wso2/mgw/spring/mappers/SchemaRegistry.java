@@ -0,0 +1,138 @@
+package org.wso2.mgw.spring.mappers;
+
+import io.swagger.v3.core.converter.ModelConverter;
+import io.swagger.v3.core.converter.ModelConverters;
+import io.swagger.v3.core.converter.ResolvedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import org.apache.commons.lang3.StringUtils;
+import org.wso2.mgw.spring.constants.PluginConstants;
+import org.wso2.mgw.spring.utils.TypeClassifier;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Build wide registry of the response schemas, keyed by the generic return type of the resource methods. Each
+ * type is resolved once and the resolved schemas are shared by every service which returns that type, instead of
+ * each service resolving its own copy.
+ */
+public class SchemaRegistry {
+
+    // The converters keep state while resolving a type, hence every generation thread has its own converters
+    private static final ThreadLocal<ModelConverters> modelConverters =
+            ThreadLocal.withInitial(SchemaRegistry::newModelConverters);
+
+    private Map<Type, Optional<ResponseSchema>> responseSchemas = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the response schema of the given method, resolving it if the return type is not resolved yet.
+     *
+     * @param method resource method
+     * @return the response schema or null if the return type has no schema. eg: void
+     */
+    ResponseSchema getResponseSchema(Method method) {
+        return responseSchemas.computeIfAbsent(method.getGenericReturnType(),
+                type -> Optional.ofNullable(resolve(method))).orElse(null);
+    }
+
+    private ResponseSchema resolve(Method method) {
+        Map<String, Schema> componentSchemas = new LinkedHashMap<>();
+        Schema schema = new Schema();
+        if (Collection.class.isAssignableFrom(method.getReturnType())) {
+            ResolvedSchema resolvedSchema = modelConverters.get()
+                    .readAllAsResolvedSchema(method.getGenericReturnType());
+            if (resolvedSchema == null) {
+                return null;
+            }
+            schema.setType(PluginConstants.ARRAY_TYPE);
+            schema.setProperties(resolvedSchema.referencedSchemas);
+            String refName = resolveCollectionGenericType(method);
+            componentSchemas.put(refName, schema);
+            Schema refSchema = new Schema();
+            refSchema.setType(refName);
+            refSchema.set$ref(refName);
+            return new ResponseSchema(refSchema, componentSchemas);
+        } else if (TypeClassifier.isPrimitive(method.getReturnType())) {
+            schema.setType(TypeClassifier.getDataType(method.getReturnType()));
+            schema.setFormat(TypeClassifier.getDataFormat(method.getReturnType()));
+            return new ResponseSchema(schema, componentSchemas);
+        } else {
+            ResolvedSchema resolvedSchema = modelConverters.get().readAllAsResolvedSchema(method.getReturnType());
+            if (resolvedSchema == null || resolvedSchema.schema == null) {
+                return null;
+            }
+            componentSchemas.put(method.getReturnType().getSimpleName(), resolvedSchema.schema);
+            if (resolvedSchema.referencedSchemas != null) {
+                componentSchemas.putAll(resolvedSchema.referencedSchemas);
+            }
+            Schema refSchema = new Schema();
+            refSchema.set$ref(method.getReturnType().getSimpleName());
+            return new ResponseSchema(refSchema, componentSchemas);
+        }
+    }
+
+    /**
+     * Returns new converters, initialized as {@link ModelConverters#getInstance()} is, with the converters
+     * registered through the service loader.
+     *
+     * @return model converters
+     */
+    private static ModelConverters newModelConverters() {
+        ModelConverters converters = new ModelConverters();
+        converters.addPackageToSkip("java.lang");
+        for (ModelConverter converter : ServiceLoader.load(ModelConverter.class)) {
+            if (converter != null) {
+                converters.addConverter(converter);
+            }
+        }
+        return converters;
+    }
+
+    private String resolveCollectionGenericType(Method method) {
+        String genericTypeName = method.getGenericReturnType().getTypeName();
+        String collectionDataHolderFullType = StringUtils.substringBetween(genericTypeName, "<", ">");
+        if (collectionDataHolderFullType == null) {
+            return method.getReturnType().getSimpleName();
+        }
+        String[] splittedFullTypeName = collectionDataHolderFullType.split("\\.");
+        return splittedFullTypeName[splittedFullTypeName.length - 1] + method.getReturnType().getSimpleName();
+    }
+
+    /**
+     * The schema to be used in the response of a resource method together with the schemas it refers to.
+     */
+    static class ResponseSchema {
+        private Schema schema;
+        private Map<String, Schema> componentSchemas;
+
+        ResponseSchema(Schema schema, Map<String, Schema> componentSchemas) {
+            this.schema = schema;
+            this.componentSchemas = Collections.unmodifiableMap(componentSchemas);
+        }
+
+        /**
+         * Returns the inline schema of a primitive type, otherwise a reference to a component schema.
+         *
+         * @return response schema
+         */
+        Schema getSchema() {
+            return schema;
+        }
+
+        /**
+         * Returns the schemas to be added to the components of a service using this response schema.
+         *
+         * @return component schemas keyed by name
+         */
+        Map<String, Schema> getComponentSchemas() {
+            return componentSchemas;
+        }
+    }
+}
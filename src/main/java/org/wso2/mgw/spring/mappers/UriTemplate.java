@@ -0,0 +1,221 @@
+package org.wso2.mgw.spring.mappers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled form of a spring URI template. eg: /orders/{id:[0-9]+}/items/{item}
+ * <p>
+ * The template is tokenized once into its path segments and variables, and the compiled templates are shared, since
+ * the same template is usually mapped by several methods. Variables are rendered in the open API path without their
+ * constraint pattern, which is kept with the variable instead.
+ */
+class UriTemplate {
+
+    private static final Map<String, UriTemplate> compiledTemplates = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final String operationIdSuffix;
+    private final List<Segment> segments;
+    private final List<Variable> variables;
+
+    private UriTemplate(String path, List<Segment> segments, List<Variable> variables) {
+        this.path = path;
+        this.operationIdSuffix = path.replace('/', '_');
+        this.segments = Collections.unmodifiableList(segments);
+        this.variables = Collections.unmodifiableList(variables);
+    }
+
+    /**
+     * Returns the compiled template of the given URI template, compiling it on the first call.
+     *
+     * @param template URI template given in the request mapping
+     * @return compiled template
+     */
+    static UriTemplate compile(String template) {
+        return compiledTemplates.computeIfAbsent(template, UriTemplate::parse);
+    }
+
+    private static UriTemplate parse(String template) {
+        StringBuilder path = new StringBuilder(template.length());
+        StringBuilder segment = new StringBuilder();
+        List<Variable> segmentVariables = new ArrayList<>();
+        List<Segment> segments = new ArrayList<>();
+        List<Variable> variables = new ArrayList<>();
+        int i = 0;
+        while (i < template.length()) {
+            char c = template.charAt(i);
+            if (c == '{') {
+                int end = findClosingBrace(template, i);
+                if (end < 0) {
+                    // Unbalanced braces are kept as they are, as spring would not match them as a variable either
+                    path.append(template, i, template.length());
+                    segment.append(template, i, template.length());
+                    break;
+                }
+                Variable variable = Variable.parse(template.substring(i + 1, end));
+                path.append('{').append(variable.getName()).append('}');
+                segment.append('{').append(variable.getName()).append('}');
+                segmentVariables.add(variable);
+                variables.add(variable);
+                i = end + 1;
+                continue;
+            }
+            if (c == '/') {
+                addSegment(segments, segment, segmentVariables);
+            } else {
+                segment.append(c);
+            }
+            path.append(c);
+            i++;
+        }
+        addSegment(segments, segment, segmentVariables);
+        return new UriTemplate(path.toString(), segments, variables);
+    }
+
+    /**
+     * Returns the index of the brace closing the variable which starts at the given index. Constraint patterns may
+     * contain quantifier braces and escaped braces. eg: {code:[a-z]{2}\{?}
+     */
+    private static int findClosingBrace(String template, int start) {
+        int depth = 0;
+        for (int i = start; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void addSegment(List<Segment> segments, StringBuilder segment, List<Variable> segmentVariables) {
+        if (segment.length() > 0) {
+            segments.add(new Segment(segment.toString(), new ArrayList<>(segmentVariables)));
+        }
+        segment.setLength(0);
+        segmentVariables.clear();
+    }
+
+    /**
+     * Returns the path to be used in the open API definition. eg: /orders/{id}/items/{item}
+     *
+     * @return open API path
+     */
+    String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the path as a suffix of the operation IDs. eg: _orders_{id}_items_{item}
+     *
+     * @return operation ID suffix
+     */
+    String getOperationIdSuffix() {
+        return operationIdSuffix;
+    }
+
+    /**
+     * Returns the non empty path segments of the template.
+     *
+     * @return path segments
+     */
+    List<Segment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Returns the variables of the template in the order they appear.
+     *
+     * @return template variables
+     */
+    List<Variable> getVariables() {
+        return variables;
+    }
+
+    /**
+     * A path segment of the template. eg: {id}, orders, {name}.{extension}
+     */
+    static class Segment {
+        private final String value;
+        private final List<Variable> variables;
+
+        Segment(String value, List<Variable> variables) {
+            this.value = value;
+            this.variables = Collections.unmodifiableList(variables);
+        }
+
+        /**
+         * Returns the segment with its variables rendered without the constraint patterns.
+         *
+         * @return segment value
+         */
+        String getValue() {
+            return value;
+        }
+
+        List<Variable> getVariables() {
+            return variables;
+        }
+
+        /**
+         * Returns whether the segment is a literal, which has no variables.
+         *
+         * @return true if the segment has no variables
+         */
+        boolean isLiteral() {
+            return variables.isEmpty();
+        }
+    }
+
+    /**
+     * A variable of the template. eg: {id}, {id:[0-9]+}, {*path}
+     */
+    static class Variable {
+        private final String name;
+        private final String pattern;
+        private final boolean catchAll;
+
+        private Variable(String name, String pattern, boolean catchAll) {
+            this.name = name;
+            this.pattern = pattern;
+            this.catchAll = catchAll;
+        }
+
+        private static Variable parse(String expression) {
+            int separatorIndex = expression.indexOf(':');
+            String name = (separatorIndex < 0 ? expression : expression.substring(0, separatorIndex)).trim();
+            String pattern = separatorIndex < 0 ? null : expression.substring(separatorIndex + 1);
+            boolean catchAll = name.startsWith("*");
+            return new Variable(catchAll ? name.substring(1) : name, pattern, catchAll);
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the constraint pattern of the variable. eg: [0-9]+ of {id:[0-9]+}
+         *
+         * @return pattern or null if the variable is not constrained
+         */
+        String getPattern() {
+            return pattern;
+        }
+
+        /**
+         * Returns whether the variable captures the rest of the path. eg: {*path}
+         *
+         * @return true if the variable captures the remaining segments
+         */
+        boolean isCatchAll() {
+            return catchAll;
+        }
+    }
+}
@@ -1,10 +1,35 @@
 package org.wso2.mgw.spring.models;
 
+import org.wso2.mgw.spring.constants.PluginConstants;
+
+import java.io.File;
+import java.util.Map;
+import java.util.TreeMap;
+
 public class ConfigModel {
     String openAPIName;
     boolean processProject;
     String packageName;
     boolean isExtendedOpenAPI;
+    boolean useScanCache = true;
+    int scanThreads;
+    int generationThreads;
+    ScanScopeModel scanScope;
+    String openAPIFormat = PluginConstants.OPENAPI_FORMAT_YAML;
+    boolean printOpenAPI;
+    boolean useUpToDateCheck = true;
+    String cacheDirectory;
+    boolean useArtifactCache = true;
+    int artifactCacheSize = PluginConstants.DEFAULT_ARTIFACT_CACHE_SIZE;
+    boolean abortOnBuildError = true;
+    int initTimeout = PluginConstants.DEFAULT_TOOLKIT_TIMEOUT;
+    int buildTimeout = PluginConstants.DEFAULT_TOOLKIT_TIMEOUT;
+    int totalTimeout;
+    boolean useProjectTemplate = true;
+    String jvmOptions;
+    Map<String, String> environmentVariables = new TreeMap<>();
+    boolean useClassDataSharing = true;
+    boolean useToolkitCache;
 
     public String getOpenAPIName() {
         return openAPIName;
@@ -37,4 +62,168 @@ public class ConfigModel {
     public void setExtendedOpenAPI(boolean extendedOpenAPI) {
         isExtendedOpenAPI = extendedOpenAPI;
     }
+
+    public boolean isUseScanCache() {
+        return useScanCache;
+    }
+
+    public void setUseScanCache(boolean useScanCache) {
+        this.useScanCache = useScanCache;
+    }
+
+    public int getScanThreads() {
+        return scanThreads;
+    }
+
+    public void setScanThreads(int scanThreads) {
+        this.scanThreads = scanThreads;
+    }
+
+    public int getGenerationThreads() {
+        return generationThreads;
+    }
+
+    public void setGenerationThreads(int generationThreads) {
+        this.generationThreads = generationThreads;
+    }
+
+    public ScanScopeModel getScanScope() {
+        return scanScope != null ? scanScope : new ScanScopeModel();
+    }
+
+    public void setScanScope(ScanScopeModel scanScope) {
+        this.scanScope = scanScope;
+    }
+
+    public String getOpenAPIFormat() {
+        return openAPIFormat;
+    }
+
+    public void setOpenAPIFormat(String openAPIFormat) {
+        this.openAPIFormat = openAPIFormat;
+    }
+
+    public boolean isPrintOpenAPI() {
+        return printOpenAPI;
+    }
+
+    public void setPrintOpenAPI(boolean printOpenAPI) {
+        this.printOpenAPI = printOpenAPI;
+    }
+
+    public boolean isUseUpToDateCheck() {
+        return useUpToDateCheck;
+    }
+
+    public void setUseUpToDateCheck(boolean useUpToDateCheck) {
+        this.useUpToDateCheck = useUpToDateCheck;
+    }
+
+    public String getCacheDirectory() {
+        return cacheDirectory != null ? cacheDirectory :
+                System.getProperty("user.home") + File.separator + PluginConstants.DEFAULT_CACHE_DIR;
+    }
+
+    public void setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    public boolean isUseArtifactCache() {
+        return useArtifactCache;
+    }
+
+    public void setUseArtifactCache(boolean useArtifactCache) {
+        this.useArtifactCache = useArtifactCache;
+    }
+
+    public int getArtifactCacheSize() {
+        return artifactCacheSize;
+    }
+
+    public void setArtifactCacheSize(int artifactCacheSize) {
+        this.artifactCacheSize = artifactCacheSize;
+    }
+
+    public boolean isAbortOnBuildError() {
+        return abortOnBuildError;
+    }
+
+    public void setAbortOnBuildError(boolean abortOnBuildError) {
+        this.abortOnBuildError = abortOnBuildError;
+    }
+
+    public int getInitTimeout() {
+        return initTimeout;
+    }
+
+    public void setInitTimeout(int initTimeout) {
+        this.initTimeout = initTimeout;
+    }
+
+    public int getBuildTimeout() {
+        return buildTimeout;
+    }
+
+    public void setBuildTimeout(int buildTimeout) {
+        this.buildTimeout = buildTimeout;
+    }
+
+    public int getTotalTimeout() {
+        return totalTimeout;
+    }
+
+    public void setTotalTimeout(int totalTimeout) {
+        this.totalTimeout = totalTimeout;
+    }
+
+    public boolean isUseProjectTemplate() {
+        return useProjectTemplate;
+    }
+
+    public void setUseProjectTemplate(boolean useProjectTemplate) {
+        this.useProjectTemplate = useProjectTemplate;
+    }
+
+    /**
+     * Returns the JVM options of the toolkit, which are passed to the toolkit through the JAVA_OPTS environment
+     * variable. eg: -Xmx1g -XX:+UseParallelGC
+     *
+     * @return JVM options of the toolkit
+     */
+    public String getJvmOptions() {
+        return jvmOptions;
+    }
+
+    public void setJvmOptions(String jvmOptions) {
+        this.jvmOptions = jvmOptions;
+    }
+
+    /**
+     * Returns the environment variables added to the environment of the toolkit.
+     *
+     * @return environment variables of the toolkit
+     */
+    public Map<String, String> getEnvironmentVariables() {
+        return environmentVariables;
+    }
+
+    public void setEnvironmentVariables(Map<String, String> environmentVariables) {
+        this.environmentVariables = environmentVariables;
+    }
+
+    public boolean isUseClassDataSharing() {
+        return useClassDataSharing;
+    }
+
+    public void setUseClassDataSharing(boolean useClassDataSharing) {
+        this.useClassDataSharing = useClassDataSharing;
+    }
+
+    public boolean isUseToolkitCache() {
+        return useToolkitCache;
+    }
+
+    public void setUseToolkitCache(boolean useToolkitCache) {
+        this.useToolkitCache = useToolkitCache;
+    }
 }
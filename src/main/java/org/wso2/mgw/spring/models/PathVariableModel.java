@@ -0,0 +1,37 @@
+package org.wso2.mgw.spring.models;
+
+import java.io.Serializable;
+
+/**
+ * Holds a {@code @PathVariable} parameter of a request mapped method.
+ */
+public class PathVariableModel implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+    private final String descriptor;
+
+    public PathVariableModel(String name, String descriptor) {
+        this.name = name;
+        this.descriptor = descriptor;
+    }
+
+    /**
+     * Returns the name of the URI template variable bound to the parameter.
+     *
+     * @return variable name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the JVM type descriptor of the parameter. eg: J, Ljava/lang/String;
+     *
+     * @return type descriptor
+     */
+    public String getDescriptor() {
+        return descriptor;
+    }
+}
@@ -2,7 +2,11 @@ package org.wso2.mgw.spring.models;
 
 import org.springframework.web.bind.annotation.RequestMethod;
 
-public class ResourceMapperModel {
+import java.io.Serializable;
+
+public class ResourceMapperModel implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final String name;
     private final String[] value;
@@ -0,0 +1,107 @@
+package org.wso2.mgw.spring.models;
+
+import org.wso2.mgw.spring.RequestMethodType;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds the metadata of a request mapped method of a spring controller read from its class file.
+ */
+public class ResourceMethodModel implements Serializable, Comparable<ResourceMethodModel> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String declaringClassName;
+    private final String name;
+    private final String descriptor;
+    private final RequestMethodType requestMethodType;
+    private final ResourceMapperModel resourceMapperModel;
+    private final List<PathVariableModel> pathVariables;
+
+    public ResourceMethodModel(String declaringClassName, String name, String descriptor,
+            RequestMethodType requestMethodType, ResourceMapperModel resourceMapperModel,
+            List<PathVariableModel> pathVariables) {
+        this.declaringClassName = declaringClassName;
+        this.name = name;
+        this.descriptor = descriptor;
+        this.requestMethodType = requestMethodType;
+        this.resourceMapperModel = resourceMapperModel;
+        this.pathVariables = Collections.unmodifiableList(pathVariables);
+    }
+
+    public String getDeclaringClassName() {
+        return declaringClassName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the JVM method descriptor. eg: (Ljava/lang/String;)Ljava/util/List;
+     *
+     * @return method descriptor
+     */
+    public String getDescriptor() {
+        return descriptor;
+    }
+
+    public RequestMethodType getRequestMethodType() {
+        return requestMethodType;
+    }
+
+    public ResourceMapperModel getResourceMapperModel() {
+        return resourceMapperModel;
+    }
+
+    /**
+     * Returns the {@code @PathVariable} parameters of the method in the declared order.
+     *
+     * @return path variable parameters
+     */
+    public List<PathVariableModel> getPathVariables() {
+        return pathVariables;
+    }
+
+    /**
+     * Orders the methods by the declaring class, name, descriptor and mapping type, consistent with equals.
+     *
+     * @param o method to compare with
+     * @return the order of this method relative to the given method
+     */
+    @Override
+    public int compareTo(ResourceMethodModel o) {
+        int order = declaringClassName.compareTo(o.declaringClassName);
+        if (order == 0) {
+            order = name.compareTo(o.name);
+        }
+        if (order == 0) {
+            order = descriptor.compareTo(o.descriptor);
+        }
+        return order != 0 ? order : requestMethodType.compareTo(o.requestMethodType);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ResourceMethodModel that = (ResourceMethodModel) o;
+        return declaringClassName.equals(that.declaringClassName) && name.equals(that.name)
+                && descriptor.equals(that.descriptor) && requestMethodType == that.requestMethodType;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = declaringClassName.hashCode();
+        result = 31 * result + name.hashCode();
+        result = 31 * result + descriptor.hashCode();
+        result = 31 * result + requestMethodType.hashCode();
+        return result;
+    }
+}
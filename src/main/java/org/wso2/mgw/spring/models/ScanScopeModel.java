@@ -0,0 +1,76 @@
+package org.wso2.mgw.spring.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ScanScopeModel {
+    List<String> modules = new ArrayList<>();
+    List<String> includes = new ArrayList<>();
+    List<String> excludes = new ArrayList<>();
+    List<String> jarIncludes = new ArrayList<>();
+    List<String> jarExcludes = new ArrayList<>();
+    boolean includeDependencies;
+
+    /**
+     * Returns the artifact ids of the reactor modules whose classes are scanned along with the project classes.
+     *
+     * @return reactor module artifact ids
+     */
+    public List<String> getModules() {
+        return modules;
+    }
+
+    public void setModules(List<String> modules) {
+        this.modules = modules;
+    }
+
+    /**
+     * Returns the package patterns to be scanned. eg: com.example.**, com.example.*.api
+     *
+     * @return package include patterns
+     */
+    public List<String> getIncludes() {
+        return includes;
+    }
+
+    public void setIncludes(List<String> includes) {
+        this.includes = includes;
+    }
+
+    public List<String> getExcludes() {
+        return excludes;
+    }
+
+    public void setExcludes(List<String> excludes) {
+        this.excludes = excludes;
+    }
+
+    /**
+     * Returns the file name patterns of the dependency jars to be scanned. eg: order-*.jar
+     *
+     * @return jar include patterns
+     */
+    public List<String> getJarIncludes() {
+        return jarIncludes;
+    }
+
+    public void setJarIncludes(List<String> jarIncludes) {
+        this.jarIncludes = jarIncludes;
+    }
+
+    public List<String> getJarExcludes() {
+        return jarExcludes;
+    }
+
+    public void setJarExcludes(List<String> jarExcludes) {
+        this.jarExcludes = jarExcludes;
+    }
+
+    public boolean isIncludeDependencies() {
+        return includeDependencies;
+    }
+
+    public void setIncludeDependencies(boolean includeDependencies) {
+        this.includeDependencies = includeDependencies;
+    }
+}
@@ -0,0 +1,55 @@
+package org.wso2.mgw.spring.models;
+
+import java.io.Serializable;
+
+/**
+ * Holds the metadata of a spring controller class read from its class file.
+ */
+public class ServiceClassModel implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+    private final String simpleName;
+    private final String[] basePaths;
+
+    public ServiceClassModel(String name, String[] basePaths) {
+        this.name = name;
+        this.basePaths = basePaths;
+        String simpleName = name.substring(name.lastIndexOf('.') + 1);
+        this.simpleName = simpleName.substring(simpleName.lastIndexOf('$') + 1);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSimpleName() {
+        return simpleName;
+    }
+
+    /**
+     * Returns the values of the class level RequestMapping annotation.
+     *
+     * @return class level request mapping values. Empty if the class does not have a base path
+     */
+    public String[] getBasePaths() {
+        return basePaths;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return name.equals(((ServiceClassModel) o).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+}
@@ -0,0 +1,367 @@
+package org.wso2.mgw.spring.processors;
+
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.wso2.mgw.spring.RequestMethodType;
+import org.wso2.mgw.spring.models.PathVariableModel;
+import org.wso2.mgw.spring.models.ResourceMapperModel;
+import org.wso2.mgw.spring.models.ResourceMethodModel;
+import org.wso2.mgw.spring.models.ServiceClassModel;
+import org.wso2.mgw.spring.scanners.RouteIndexFile;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor which records the spring controllers and their request mappings of the compiled sources
+ * into {@link RouteIndexFile#LOCATION} of the class output directory. When the index is present, the plugin reads
+ * it instead of scanning the class files of the output directory.
+ * <p>
+ * The entries of the classes which are not part of the compilation are carried over from the existing index, so
+ * that a partial recompilation keeps the index complete.
+ * <p>
+ * The index is written before javac writes the class files, hence on javac the modified time of the index is
+ * advanced as each class file is written. The plugin treats an index older than any class file as stale, eg: when
+ * the classes are recompiled without the processor.
+ */
+public class RouteIndexProcessor extends AbstractProcessor {
+
+    private static final String REST_CONTROLLER = "org.springframework.web.bind.annotation.RestController";
+    private static final String CONTROLLER = "org.springframework.stereotype.Controller";
+    private static final String REQUEST_MAPPING = "org.springframework.web.bind.annotation.RequestMapping";
+    private static final String PATH_VARIABLE = "org.springframework.web.bind.annotation.PathVariable";
+    private static final Map<String, RequestMethodType> MAPPING_ANNOTATIONS = new LinkedHashMap<>();
+
+    static {
+        MAPPING_ANNOTATIONS.put(REQUEST_MAPPING, RequestMethodType.DEFAULT);
+        MAPPING_ANNOTATIONS.put("org.springframework.web.bind.annotation.GetMapping", RequestMethodType.GET);
+        MAPPING_ANNOTATIONS.put("org.springframework.web.bind.annotation.PostMapping", RequestMethodType.POST);
+        MAPPING_ANNOTATIONS.put("org.springframework.web.bind.annotation.PutMapping", RequestMethodType.PUT);
+        MAPPING_ANNOTATIONS.put("org.springframework.web.bind.annotation.DeleteMapping", RequestMethodType.DELETE);
+        MAPPING_ANNOTATIONS.put("org.springframework.web.bind.annotation.PatchMapping", RequestMethodType.PATCH);
+    }
+
+    private Set<String> compiledClasses = new HashSet<>();
+    private Map<String, ServiceClassModel> serviceClasses = new LinkedHashMap<>();
+    private Map<String, List<ResourceMethodModel>> resourceMethods = new HashMap<>();
+    private volatile File indexFile;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        try {
+            JavacTask.instance(processingEnv).addTaskListener(new TaskListener() {
+                @Override
+                public void started(TaskEvent event) {
+                }
+
+                @Override
+                public void finished(TaskEvent event) {
+                    File file = indexFile;
+                    if (event.getKind() == TaskEvent.Kind.GENERATE && file != null) {
+                        file.setLastModified(System.currentTimeMillis());
+                    }
+                }
+            });
+        } catch (RuntimeException | LinkageError e) {
+            // Not javac, or a wrapped processing environment. The index is then older than the class files, which
+            // makes the plugin scan the class files instead
+        }
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        // Every round is processed, since the compiled classes without controllers are needed to drop stale entries
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element rootElement : roundEnv.getRootElements()) {
+            processElement(rootElement);
+        }
+        if (roundEnv.processingOver()) {
+            try {
+                writeIndex();
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Error while writing the route index " + RouteIndexFile.LOCATION + " : " + e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    private void processElement(Element element) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+        TypeElement typeElement = (TypeElement) element;
+        String className = processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+        compiledClasses.add(className);
+        Map<String, AnnotationMirror> classAnnotations = getAnnotations(typeElement);
+        if (typeElement.getKind() != ElementKind.ANNOTATION_TYPE && isController(typeElement, new HashSet<>())) {
+            serviceClasses.put(className, new ServiceClassModel(className,
+                    getStringArray(classAnnotations.get(REQUEST_MAPPING), "value")));
+            List<ResourceMethodModel> methods = new ArrayList<>();
+            for (Element enclosedElement : typeElement.getEnclosedElements()) {
+                if (enclosedElement.getKind() == ElementKind.METHOD) {
+                    addResourceMethods(className, (ExecutableElement) enclosedElement, methods);
+                }
+            }
+            resourceMethods.put(className, methods);
+        }
+        for (Element enclosedElement : typeElement.getEnclosedElements()) {
+            processElement(enclosedElement);
+        }
+    }
+
+    /**
+     * Returns whether the given type is annotated with RestController or Controller, directly or through a custom
+     * stereotype, eg: ApiController annotated with RestController.
+     *
+     * @param typeElement        class or annotation type
+     * @param visitedAnnotations annotation types already visited, as annotation types may annotate each other
+     * @return true if the type is a spring controller
+     */
+    private boolean isController(TypeElement typeElement, Set<String> visitedAnnotations) {
+        for (AnnotationMirror mirror : typeElement.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            String annotationName = annotationType.getQualifiedName().toString();
+            if (REST_CONTROLLER.equals(annotationName) || CONTROLLER.equals(annotationName)) {
+                return true;
+            }
+            if (!annotationName.startsWith("java.") && visitedAnnotations.add(annotationName)
+                    && isController(annotationType, visitedAnnotations)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addResourceMethods(String className, ExecutableElement method, List<ResourceMethodModel> methods) {
+        for (Map.Entry<String, AnnotationMirror> annotation : getAnnotations(method).entrySet()) {
+            RequestMethodType requestMethodType = MAPPING_ANNOTATIONS.get(annotation.getKey());
+            if (requestMethodType == null) {
+                continue;
+            }
+            AnnotationMirror mirror = annotation.getValue();
+            RequestMethod[] requestMethods;
+            if (requestMethodType == RequestMethodType.DEFAULT) {
+                String[] methodNames = getStringArray(mirror, "method");
+                requestMethods = new RequestMethod[methodNames.length];
+                for (int i = 0; i < methodNames.length; i++) {
+                    requestMethods[i] = RequestMethod.valueOf(methodNames[i]);
+                }
+            } else {
+                requestMethods = new RequestMethod[] { RequestMethod.valueOf(requestMethodType.name()) };
+            }
+            AnnotationValue name = getMemberValue(mirror, "name");
+            ResourceMapperModel mapper = new ResourceMapperModel.Builder(
+                    name != null ? String.valueOf(name.getValue()) : "")
+                    .headers(getStringArray(mirror, "headers")).consumes(getStringArray(mirror, "consumes"))
+                    .method(requestMethods).params(getStringArray(mirror, "params"))
+                    .path(getStringArray(mirror, "path")).produces(getStringArray(mirror, "produces"))
+                    .value(getStringArray(mirror, "value")).build();
+            methods.add(new ResourceMethodModel(className, method.getSimpleName().toString(),
+                    getDescriptor(method), requestMethodType, mapper, getPathVariables(method)));
+        }
+    }
+
+    private List<PathVariableModel> getPathVariables(ExecutableElement method) {
+        List<PathVariableModel> pathVariables = new ArrayList<>();
+        for (VariableElement parameter : method.getParameters()) {
+            AnnotationMirror pathVariable = getAnnotations(parameter).get(PATH_VARIABLE);
+            if (pathVariable == null) {
+                continue;
+            }
+            AnnotationValue name = getMemberValue(pathVariable, "value");
+            if (name == null || String.valueOf(name.getValue()).isEmpty()) {
+                name = getMemberValue(pathVariable, "name");
+            }
+            StringBuilder descriptor = new StringBuilder();
+            appendDescriptor(descriptor, processingEnv.getTypeUtils().erasure(parameter.asType()));
+            pathVariables.add(new PathVariableModel(name != null && !String.valueOf(name.getValue()).isEmpty() ?
+                    String.valueOf(name.getValue()) : parameter.getSimpleName().toString(), descriptor.toString()));
+        }
+        return pathVariables;
+    }
+
+    private void writeIndex() throws IOException {
+        List<ServiceClassModel> previousClasses = new ArrayList<>();
+        List<ResourceMethodModel> previousMethods = new ArrayList<>();
+        try {
+            FileObject previousIndex = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", RouteIndexFile.LOCATION);
+            try (BufferedReader reader = new BufferedReader(previousIndex.openReader(true))) {
+                RouteIndexFile.read(reader, previousClasses, previousMethods);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // There is no usable index from a previous compilation
+            previousClasses.clear();
+            previousMethods.clear();
+        }
+        Map<String, ServiceClassModel> indexedClasses = new LinkedHashMap<>();
+        List<ResourceMethodModel> indexedMethods = new ArrayList<>();
+        for (ServiceClassModel previousClass : previousClasses) {
+            if (!compiledClasses.contains(previousClass.getName())) {
+                indexedClasses.put(previousClass.getName(), previousClass);
+            }
+        }
+        for (ResourceMethodModel previousMethod : previousMethods) {
+            if (indexedClasses.containsKey(previousMethod.getDeclaringClassName())) {
+                indexedMethods.add(previousMethod);
+            }
+        }
+        indexedClasses.putAll(serviceClasses);
+        resourceMethods.values().forEach(indexedMethods::addAll);
+
+        FileObject index = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", RouteIndexFile.LOCATION);
+        try (Writer writer = new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8)) {
+            RouteIndexFile.write(writer, indexedClasses.values(), indexedMethods);
+        }
+        try {
+            indexFile = new File(index.toUri());
+        } catch (IllegalArgumentException e) {
+            // The class output is not on the file system
+        }
+    }
+
+    private Map<String, AnnotationMirror> getAnnotations(Element element) {
+        Map<String, AnnotationMirror> annotations = new LinkedHashMap<>();
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            annotations.put(annotationType.getQualifiedName().toString(), mirror);
+        }
+        return annotations;
+    }
+
+    private AnnotationValue getMemberValue(AnnotationMirror mirror, String member) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues()
+                .entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(member)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the values of an array typed annotation member. Only the explicitly set members are read, which is
+     * what the class files record as well.
+     *
+     * @param mirror annotation to read, may be null
+     * @param member member name
+     * @return string or enum constant values of the member
+     */
+    private String[] getStringArray(AnnotationMirror mirror, String member) {
+        AnnotationValue annotationValue = mirror != null ? getMemberValue(mirror, member) : null;
+        if (annotationValue == null) {
+            return new String[0];
+        }
+        List<Object> values = new ArrayList<>();
+        if (annotationValue.getValue() instanceof List) {
+            for (Object element : (List<?>) annotationValue.getValue()) {
+                values.add(((AnnotationValue) element).getValue());
+            }
+        } else {
+            values.add(annotationValue.getValue());
+        }
+        String[] strings = new String[values.size()];
+        for (int i = 0; i < strings.length; i++) {
+            Object value = values.get(i);
+            strings[i] = value instanceof VariableElement ? ((VariableElement) value).getSimpleName().toString() :
+                    String.valueOf(value);
+        }
+        return strings;
+    }
+
+    private String getDescriptor(ExecutableElement method) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (VariableElement parameter : method.getParameters()) {
+            appendDescriptor(descriptor, processingEnv.getTypeUtils().erasure(parameter.asType()));
+        }
+        descriptor.append(')');
+        appendDescriptor(descriptor, processingEnv.getTypeUtils().erasure(method.getReturnType()));
+        return descriptor.toString();
+    }
+
+    private void appendDescriptor(StringBuilder descriptor, TypeMirror type) {
+        switch (type.getKind()) {
+        case BOOLEAN:
+            descriptor.append('Z');
+            break;
+        case BYTE:
+            descriptor.append('B');
+            break;
+        case CHAR:
+            descriptor.append('C');
+            break;
+        case SHORT:
+            descriptor.append('S');
+            break;
+        case INT:
+            descriptor.append('I');
+            break;
+        case LONG:
+            descriptor.append('J');
+            break;
+        case FLOAT:
+            descriptor.append('F');
+            break;
+        case DOUBLE:
+            descriptor.append('D');
+            break;
+        case VOID:
+            descriptor.append('V');
+            break;
+        case ARRAY:
+            descriptor.append('[');
+            appendDescriptor(descriptor, ((ArrayType) type).getComponentType());
+            break;
+        case DECLARED:
+            TypeElement typeElement = (TypeElement) ((DeclaredType) type).asElement();
+            descriptor.append('L').append(processingEnv.getElementUtils().getBinaryName(typeElement).toString()
+                    .replace('.', '/')).append(';');
+            break;
+        default:
+            descriptor.append("Ljava/lang/Object;");
+        }
+    }
+}
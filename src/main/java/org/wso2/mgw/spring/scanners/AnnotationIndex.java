@@ -0,0 +1,139 @@
+package org.wso2.mgw.spring.scanners;
+
+import org.wso2.mgw.spring.RequestMethodType;
+import org.wso2.mgw.spring.models.ResourceMethodModel;
+import org.wso2.mgw.spring.models.ServiceClassModel;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Index of the spring controllers and request mapped methods found in the scanned class files. The mapped methods
+ * are grouped by their declaring class and mapping type as they are added, so that the methods of a controller are
+ * looked up without going through the methods of the other controllers. Controllers and methods are kept sorted, so
+ * that the definitions do not depend on the order in which the class files are scanned.
+ */
+public class AnnotationIndex {
+
+    private Set<ServiceClassModel> serviceClasses = new TreeSet<>(Comparator.comparing(ServiceClassModel::getName));
+    private Map<String, Map<RequestMethodType, Set<ResourceMethodModel>>> resourceMethodsByClass = new HashMap<>();
+    private Map<String, String[]> annotationTypes = new HashMap<>();
+    private Map<ServiceClassModel, String[]> candidateClasses = new HashMap<>();
+
+    void addServiceClass(ServiceClassModel serviceClass) {
+        serviceClasses.add(serviceClass);
+    }
+
+    void addResourceMethod(ResourceMethodModel resourceMethod) {
+        resourceMethodsByClass
+                .computeIfAbsent(resourceMethod.getDeclaringClassName(), key -> new EnumMap<>(RequestMethodType.class))
+                .computeIfAbsent(resourceMethod.getRequestMethodType(), key -> new TreeSet<>()).add(resourceMethod);
+    }
+
+    /**
+     * Add an annotation type of the scanned classes, which is a custom stereotype if it is meta-annotated with
+     * RestController or Controller.
+     *
+     * @param annotationType  annotation type name
+     * @param metaAnnotations annotations of the annotation type
+     */
+    void addAnnotationType(String annotationType, String[] metaAnnotations) {
+        annotationTypes.put(annotationType, metaAnnotations);
+    }
+
+    /**
+     * Add a class which is a controller only if one of its annotations turns out to be a custom stereotype. Its
+     * mapped methods are added as those of a controller.
+     *
+     * @param serviceClass     candidate controller
+     * @param classAnnotations class level annotations of the candidate
+     */
+    void addCandidateClass(ServiceClassModel serviceClass, String[] classAnnotations) {
+        candidateClasses.put(serviceClass, classAnnotations);
+    }
+
+    /**
+     * Add the controllers and methods of the given index to this index.
+     *
+     * @param other index of another classpath root or batch of class files
+     */
+    void merge(AnnotationIndex other) {
+        serviceClasses.addAll(other.serviceClasses);
+        annotationTypes.putAll(other.annotationTypes);
+        candidateClasses.putAll(other.candidateClasses);
+        other.resourceMethodsByClass.forEach((className, methodsByType) -> methodsByType.forEach(
+                (requestMethodType, methods) -> resourceMethodsByClass
+                        .computeIfAbsent(className, key -> new EnumMap<>(RequestMethodType.class))
+                        .computeIfAbsent(requestMethodType, key -> new TreeSet<>()).addAll(methods)));
+    }
+
+    /**
+     * Add the candidate classes annotated with a custom stereotype, ie: an annotation type meta-annotated with one of
+     * the given stereotypes, directly or through other custom stereotypes. The other candidates and their methods
+     * are dropped. Called once the index of every classpath root is merged, as a stereotype may be declared in
+     * another root than the controllers annotated with it.
+     *
+     * @param stereotypes names of the stereotype annotations, eg: RestController
+     */
+    void resolveStereotypes(Set<String> stereotypes) {
+        Set<String> resolvedStereotypes = new HashSet<>(stereotypes);
+        boolean resolved = true;
+        while (resolved) {
+            resolved = false;
+            for (Map.Entry<String, String[]> annotationType : annotationTypes.entrySet()) {
+                if (!resolvedStereotypes.contains(annotationType.getKey())
+                        && containsAny(annotationType.getValue(), resolvedStereotypes)) {
+                    resolvedStereotypes.add(annotationType.getKey());
+                    resolved = true;
+                }
+            }
+        }
+        candidateClasses.forEach((serviceClass, classAnnotations) -> {
+            if (containsAny(classAnnotations, resolvedStereotypes)) {
+                serviceClasses.add(serviceClass);
+            } else {
+                resourceMethodsByClass.remove(serviceClass.getName());
+            }
+        });
+        annotationTypes.clear();
+        candidateClasses.clear();
+    }
+
+    private static boolean containsAny(String[] names, Set<String> set) {
+        for (String name : names) {
+            if (set.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the classes annotated with RestController or Controller, or with a custom stereotype annotated with
+     * them.
+     *
+     * @return a new set of the spring controller classes, ordered by the class name
+     */
+    public Set<ServiceClassModel> getServiceClasses() {
+        return new LinkedHashSet<>(serviceClasses);
+    }
+
+    /**
+     * Returns the mapped methods of the given controller grouped by the mapping type.
+     *
+     * @param className name of the controller class
+     * @return mapped methods keyed by {@link RequestMethodType#DEFAULT} for RequestMapping, otherwise by the http
+     * method of the GetMapping, PostMapping etc annotations
+     */
+    public Map<RequestMethodType, Set<ResourceMethodModel>> getResourceMethods(String className) {
+        Map<RequestMethodType, Set<ResourceMethodModel>> methods = resourceMethodsByClass.get(className);
+        return methods != null ? Collections.unmodifiableMap(methods) : Collections.emptyMap();
+    }
+}
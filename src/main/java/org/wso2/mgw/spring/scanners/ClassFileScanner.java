@@ -0,0 +1,573 @@
+package org.wso2.mgw.spring.scanners;
+
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.LocalVariableAttribute;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.MethodParametersAttribute;
+import javassist.bytecode.ParameterAnnotationsAttribute;
+import javassist.bytecode.annotation.Annotation;
+import javassist.bytecode.annotation.ArrayMemberValue;
+import javassist.bytecode.annotation.EnumMemberValue;
+import javassist.bytecode.annotation.MemberValue;
+import javassist.bytecode.annotation.StringMemberValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.wso2.mgw.spring.RequestMethodType;
+import org.wso2.mgw.spring.exception.OpenAPIBuilderException;
+import org.wso2.mgw.spring.models.PathVariableModel;
+import org.wso2.mgw.spring.models.ResourceMapperModel;
+import org.wso2.mgw.spring.models.ResourceMethodModel;
+import org.wso2.mgw.spring.models.ServiceClassModel;
+import org.wso2.mgw.spring.utils.HashUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads the compiled class files of the given classpath roots and builds an {@link AnnotationIndex} of the spring
+ * controllers. Class files are parsed directly, hence none of the scanned classes or their dependencies are loaded.
+ */
+public class ClassFileScanner {
+    private static final Logger log = LoggerFactory.getLogger(ClassFileScanner.class);
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+    private static final int BATCH_SIZE = 256;
+    private static final Map<String, RequestMethodType> MAPPING_ANNOTATIONS = new LinkedHashMap<>();
+    private static final Set<String> STEREOTYPES = new HashSet<>(Arrays.asList(RestController.class.getName(),
+            Controller.class.getName()));
+
+    static {
+        MAPPING_ANNOTATIONS.put(RequestMapping.class.getName(), RequestMethodType.DEFAULT);
+        MAPPING_ANNOTATIONS.put(GetMapping.class.getName(), RequestMethodType.GET);
+        MAPPING_ANNOTATIONS.put(PostMapping.class.getName(), RequestMethodType.POST);
+        MAPPING_ANNOTATIONS.put(PutMapping.class.getName(), RequestMethodType.PUT);
+        MAPPING_ANNOTATIONS.put(DeleteMapping.class.getName(), RequestMethodType.DELETE);
+        MAPPING_ANNOTATIONS.put(PatchMapping.class.getName(), RequestMethodType.PATCH);
+    }
+
+    private ScanScope scanScope;
+    private ScanCache scanCache;
+    private int threadCount;
+
+    /**
+     * Initialize the scanner to read the classes of the given scope.
+     *
+     * @param scanScope   packages to be scanned
+     * @param scanCache   cache of the previous scan. If null, every class file is parsed
+     * @param threadCount number of scanning threads. If not positive, the number of available processors is used
+     */
+    public ClassFileScanner(ScanScope scanScope, ScanCache scanCache, int threadCount) {
+        this.scanScope = scanScope;
+        this.scanCache = scanCache;
+        this.threadCount = threadCount > 0 ? threadCount : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Scan the class files of the given classpath roots. Each root is scanned as a separate task of a work
+     * stealing pool and the class files of a root are further split into batches, so that a single large root
+     * is also scanned by all the threads.
+     *
+     * @param roots   classpath roots. Either directories or jar files
+     * @param timeout time the scan can take in milliseconds, or zero if the scan has no time limit
+     * @return index of the spring controllers found in the roots
+     * @throws OpenAPIBuilderException if a classpath root cannot be read or the scan exceeds the timeout
+     */
+    public AnnotationIndex scan(List<File> roots, long timeout) throws OpenAPIBuilderException {
+        AnnotationIndex index = new AnnotationIndex();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        ForkJoinPool pool = new ForkJoinPool(threadCount);
+        try {
+            List<ForkJoinTask<AnnotationIndex>> rootTasks = new ArrayList<>();
+            for (File root : roots) {
+                rootTasks.add(pool.submit(() -> scanRoot(root)));
+            }
+            for (int i = 0; i < rootTasks.size(); i++) {
+                try {
+                    index.merge(timeout > 0 ? rootTasks.get(i).get(Math.max(1, deadline - System.nanoTime()),
+                            TimeUnit.NANOSECONDS) : rootTasks.get(i).get());
+                } catch (TimeoutException e) {
+                    throw new OpenAPIBuilderException("Scanning the spring service classes exceeded the total time "
+                            + "budget of the build", e);
+                } catch (ExecutionException e) {
+                    String message = "Error while scanning the classes in '" + roots.get(i) + "'";
+                    Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() :
+                            e.getCause();
+                    log.error(message + " : " + cause.getMessage());
+                    log.debug(message, cause);
+                    throw new OpenAPIBuilderException(message, cause);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OpenAPIBuilderException("Scanning the spring service classes was interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+        index.resolveStereotypes(STEREOTYPES);
+        if (scanCache != null) {
+            log.info("Scanned " + scanCache.getParsedCount() + " class files, reused " + scanCache.getReusedCount()
+                    + " unchanged class files from the scan cache");
+        }
+        return index;
+    }
+
+    /**
+     * Scan a single classpath root. Runs within the scanning pool and forks a task per batch of class files.
+     *
+     * @param root classpath root
+     * @return index of the spring controllers found in the root
+     */
+    private AnnotationIndex scanRoot(File root) {
+        try {
+            if (root.isDirectory() && new File(root, RouteIndexFile.LOCATION).isFile()) {
+                if (!isRouteIndexUpToDate(root.toPath())) {
+                    log.info("The route index of '" + root + "' is older than its classes, scanning its classes");
+                    return scanDirectory(root.toPath());
+                }
+                try {
+                    return readRouteIndex(root.toPath());
+                } catch (IOException e) {
+                    // eg: the index is written by an older version of the processor
+                    String message = "Error while reading the route index of '" + root + "', scanning its classes";
+                    log.warn(message + " : " + e.getMessage());
+                    log.debug(message, e);
+                    return scanDirectory(root.toPath());
+                }
+            } else if (root.isDirectory()) {
+                return scanDirectory(root.toPath());
+            } else if (root.isFile()) {
+                return scanJar(root);
+            }
+            return new AnnotationIndex();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns whether the route index is at least as recent as every class file in the scan scope. A class file
+     * newer than the index is compiled without the annotation processor, eg: by an IDE or with -proc:none, hence
+     * the index may miss its controllers or hold their previous mappings.
+     *
+     * @param root class directory containing the route index
+     * @return true if the route index is up to date
+     * @throws IOException if the class directory cannot be read
+     */
+    private boolean isRouteIndexUpToDate(Path root) throws IOException {
+        long indexModified = Files.getLastModifiedTime(root.resolve(RouteIndexFile.LOCATION)).toMillis();
+        for (String packagePath : scanScope.getPackagePaths()) {
+            Path packageDir = root.resolve(packagePath);
+            if (!Files.isDirectory(packageDir)) {
+                continue;
+            }
+            try (Stream<Path> paths = Files.walk(packageDir)) {
+                for (Path classFile : (Iterable<Path>) paths.filter(path -> path.toString()
+                        .endsWith(CLASS_FILE_EXTENSION))::iterator) {
+                    if (Files.getLastModifiedTime(classFile).toMillis() > indexModified) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Build the index of a class directory from the route index written by the annotation processor during the
+     * compilation, instead of reading its class files. Entries of classes that no longer have a class file, or
+     * that are out of the scan scope, are ignored.
+     *
+     * @param root class directory containing the route index
+     * @return index of the spring controllers in the route index
+     * @throws IOException if the route index cannot be read
+     */
+    private AnnotationIndex readRouteIndex(Path root) throws IOException {
+        List<ServiceClassModel> serviceClasses = new ArrayList<>();
+        List<ResourceMethodModel> resourceMethods = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(root.resolve(RouteIndexFile.LOCATION),
+                StandardCharsets.UTF_8)) {
+            RouteIndexFile.read(reader, serviceClasses, resourceMethods);
+        }
+        AnnotationIndex index = new AnnotationIndex();
+        Set<String> indexedClasses = new HashSet<>();
+        for (ServiceClassModel serviceClass : serviceClasses) {
+            String classFilePath = serviceClass.getName().replace('.', '/') + CLASS_FILE_EXTENSION;
+            if (scanScope.isClassIncluded(classFilePath) && Files.isRegularFile(root.resolve(classFilePath))) {
+                index.addServiceClass(serviceClass);
+                indexedClasses.add(serviceClass.getName());
+            }
+        }
+        resourceMethods.stream().filter(method -> indexedClasses.contains(method.getDeclaringClassName()))
+                .forEach(index::addResourceMethod);
+        log.info("Read " + indexedClasses.size() + " spring services from the route index of '" + root + "'");
+        return index;
+    }
+
+    private AnnotationIndex scanDirectory(Path root) throws IOException {
+        List<Path> classFiles = new ArrayList<>();
+        for (String packagePath : scanScope.getPackagePaths()) {
+            Path packageDir = root.resolve(packagePath);
+            if (!Files.isDirectory(packageDir)) {
+                continue;
+            }
+            try (Stream<Path> paths = Files.walk(packageDir)) {
+                classFiles.addAll(paths.filter(path -> path.toString().endsWith(CLASS_FILE_EXTENSION)
+                        && scanScope.isClassIncluded(getRelativePath(root, path))).collect(Collectors.toList()));
+            }
+        }
+        List<ForkJoinTask<AnnotationIndex>> batchTasks = new ArrayList<>();
+        for (int i = 0; i < classFiles.size(); i += BATCH_SIZE) {
+            List<Path> batch = classFiles.subList(i, Math.min(i + BATCH_SIZE, classFiles.size()));
+            batchTasks.add(ForkJoinTask.adapt(() -> scanClassFiles(batch)));
+        }
+        return mergeBatches(batchTasks);
+    }
+
+    private AnnotationIndex scanClassFiles(List<Path> classFiles) throws IOException {
+        AnnotationIndex index = new AnnotationIndex();
+        for (Path classFile : classFiles) {
+            String key = classFile.toAbsolutePath().toString();
+            BasicFileAttributes attributes = Files.readAttributes(classFile, BasicFileAttributes.class);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            ScanCacheEntry entry = null;
+            if (scanCache != null) {
+                entry = scanCache.getIfUnmodified(key, attributes.size(), lastModified);
+                if (entry != null) {
+                    scanCache.reuse(key, entry);
+                    addToIndex(entry, index);
+                    continue;
+                }
+            }
+            byte[] content = Files.readAllBytes(classFile);
+            String hash = HashUtils.hash(content);
+            if (scanCache != null) {
+                entry = scanCache.getIfSameContent(key, content.length, hash);
+            }
+            if (entry != null) {
+                entry.setFingerprint(content.length, lastModified, hash);
+                scanCache.reuse(key, entry);
+            } else {
+                entry = scanClass(new ByteArrayInputStream(content));
+                entry.setFingerprint(content.length, lastModified, hash);
+                if (scanCache != null) {
+                    scanCache.put(key, entry);
+                }
+            }
+            addToIndex(entry, index);
+        }
+        return index;
+    }
+
+    private AnnotationIndex scanJar(File jar) throws IOException {
+        try (JarFile jarFile = new JarFile(jar)) {
+            List<JarEntry> classEntries = new ArrayList<>();
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (entry.getName().endsWith(CLASS_FILE_EXTENSION) && scanScope.isClassIncluded(entry.getName())) {
+                    classEntries.add(entry);
+                }
+            }
+            List<ForkJoinTask<AnnotationIndex>> batchTasks = new ArrayList<>();
+            for (int i = 0; i < classEntries.size(); i += BATCH_SIZE) {
+                List<JarEntry> batch = classEntries.subList(i, Math.min(i + BATCH_SIZE, classEntries.size()));
+                batchTasks.add(ForkJoinTask.adapt(() -> scanJarEntries(jar, jarFile, batch)));
+            }
+            return mergeBatches(batchTasks);
+        }
+    }
+
+    private AnnotationIndex scanJarEntries(File jar, JarFile jarFile, List<JarEntry> entries) throws IOException {
+        AnnotationIndex index = new AnnotationIndex();
+        for (JarEntry entry : entries) {
+            // The CRC recorded in the jar is used as the content hash, so unchanged entries are not read at all
+            String key = jar.getAbsolutePath() + "!/" + entry.getName();
+            String hash = Long.toHexString(entry.getCrc());
+            ScanCacheEntry cacheEntry = null;
+            if (scanCache != null) {
+                cacheEntry = scanCache.getIfSameContent(key, entry.getSize(), hash);
+            }
+            if (cacheEntry != null) {
+                scanCache.reuse(key, cacheEntry);
+            } else {
+                try (InputStream in = jarFile.getInputStream(entry)) {
+                    cacheEntry = scanClass(new BufferedInputStream(in));
+                }
+                cacheEntry.setFingerprint(entry.getSize(), entry.getTime(), hash);
+                if (scanCache != null) {
+                    scanCache.put(key, cacheEntry);
+                }
+            }
+            addToIndex(cacheEntry, index);
+        }
+        return index;
+    }
+
+    private AnnotationIndex mergeBatches(List<ForkJoinTask<AnnotationIndex>> batchTasks) throws IOException {
+        AnnotationIndex index = new AnnotationIndex();
+        try {
+            for (ForkJoinTask<AnnotationIndex> batchTask : ForkJoinTask.invokeAll(batchTasks)) {
+                index.merge(batchTask.join());
+            }
+        } catch (RuntimeException e) {
+            // Checked exceptions of the adapted batch tasks are rethrown wrapped by the fork join framework
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+            }
+            throw e;
+        }
+        return index;
+    }
+
+    private String getRelativePath(Path root, Path classFile) {
+        return root.relativize(classFile).toString().replace(File.separatorChar, '/');
+    }
+
+    private void addToIndex(ScanCacheEntry entry, AnnotationIndex index) {
+        if (entry.getAnnotationType() != null) {
+            index.addAnnotationType(entry.getAnnotationType(), entry.getClassAnnotations());
+        } else if (entry.getServiceClass() != null) {
+            if (entry.getClassAnnotations() != null) {
+                index.addCandidateClass(entry.getServiceClass(), entry.getClassAnnotations());
+            } else {
+                index.addServiceClass(entry.getServiceClass());
+            }
+            entry.getResourceMethods().forEach(index::addResourceMethod);
+        }
+    }
+
+    /**
+     * Read the mapping metadata of a single class file. A class annotated with other annotations than the
+     * stereotypes is read as a candidate controller, as one of its annotations may be a custom stereotype, eg:
+     * ApiController annotated with RestController. The candidates are resolved once every class is scanned.
+     *
+     * @param in class file content
+     * @return the extracted metadata. The service class is null if the class is not a spring controller or a
+     * candidate controller
+     * @throws IOException if the class file cannot be read
+     */
+    private ScanCacheEntry scanClass(InputStream in) throws IOException {
+        ScanCacheEntry entry = new ScanCacheEntry();
+        ClassFile classFile = new ClassFile(new DataInputStream(in));
+        AnnotationsAttribute classAnnotations = (AnnotationsAttribute) classFile
+                .getAttribute(AnnotationsAttribute.visibleTag);
+        if (classAnnotations == null) {
+            return entry;
+        }
+        String[] annotationTypes = new String[classAnnotations.getAnnotations().length];
+        for (int i = 0; i < annotationTypes.length; i++) {
+            annotationTypes[i] = classAnnotations.getAnnotations()[i].getTypeName();
+        }
+        if ((classFile.getAccessFlags() & AccessFlag.ANNOTATION) != 0) {
+            entry.setAnnotationType(classFile.getName());
+            entry.setClassAnnotations(annotationTypes);
+            return entry;
+        }
+        if (classAnnotations.getAnnotation(RestController.class.getName()) == null
+                && classAnnotations.getAnnotation(Controller.class.getName()) == null) {
+            entry.setClassAnnotations(annotationTypes);
+        }
+        Annotation classRequestMapping = classAnnotations.getAnnotation(RequestMapping.class.getName());
+        entry.setServiceClass(new ServiceClassModel(classFile.getName(),
+                getStringArray(classRequestMapping, "value")));
+
+        for (MethodInfo methodInfo : classFile.getMethods()) {
+            AnnotationsAttribute methodAnnotations = (AnnotationsAttribute) methodInfo
+                    .getAttribute(AnnotationsAttribute.visibleTag);
+            if (methodAnnotations == null) {
+                continue;
+            }
+            List<PathVariableModel> pathVariables = null;
+            for (Annotation annotation : methodAnnotations.getAnnotations()) {
+                RequestMethodType requestMethodType = MAPPING_ANNOTATIONS.get(annotation.getTypeName());
+                if (requestMethodType != null) {
+                    if (pathVariables == null) {
+                        pathVariables = getPathVariables(methodInfo);
+                    }
+                    entry.addResourceMethod(new ResourceMethodModel(classFile.getName(), methodInfo.getName(),
+                            methodInfo.getDescriptor(), requestMethodType,
+                            buildResourceMapper(annotation, requestMethodType), pathVariables));
+                }
+            }
+        }
+        return entry;
+    }
+
+    private ResourceMapperModel buildResourceMapper(Annotation annotation, RequestMethodType requestMethodType) {
+        RequestMethod[] requestMethods;
+        if (requestMethodType == RequestMethodType.DEFAULT) {
+            String[] methodNames = getStringArray(annotation, "method");
+            requestMethods = new RequestMethod[methodNames.length];
+            for (int i = 0; i < methodNames.length; i++) {
+                requestMethods[i] = RequestMethod.valueOf(methodNames[i]);
+            }
+        } else {
+            requestMethods = new RequestMethod[] { RequestMethod.valueOf(requestMethodType.name()) };
+        }
+        StringMemberValue name = (StringMemberValue) annotation.getMemberValue("name");
+        return new ResourceMapperModel.Builder(name != null ? name.getValue() : "")
+                .headers(getStringArray(annotation, "headers")).consumes(getStringArray(annotation, "consumes"))
+                .method(requestMethods).params(getStringArray(annotation, "params"))
+                .path(getStringArray(annotation, "path")).produces(getStringArray(annotation, "produces"))
+                .value(getStringArray(annotation, "value")).build();
+    }
+
+    /**
+     * Returns the {@code @PathVariable} parameters of a method. A parameter without an explicit variable name is
+     * bound by its own name, which is read from the MethodParameters attribute if the class is compiled with
+     * -parameters, or else from the local variable table of the debug information. Parameters whose name is not
+     * recorded in the class file are skipped.
+     *
+     * @param methodInfo method to read
+     * @return path variable parameters in the declared order
+     */
+    private List<PathVariableModel> getPathVariables(MethodInfo methodInfo) {
+        List<PathVariableModel> pathVariables = new ArrayList<>();
+        ParameterAnnotationsAttribute parameterAnnotations = (ParameterAnnotationsAttribute) methodInfo
+                .getAttribute(ParameterAnnotationsAttribute.visibleTag);
+        if (parameterAnnotations == null) {
+            return pathVariables;
+        }
+        List<String> parameterDescriptors = getParameterDescriptors(methodInfo.getDescriptor());
+        Annotation[][] annotations = parameterAnnotations.getAnnotations();
+        for (int i = 0; i < annotations.length && i < parameterDescriptors.size(); i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (!PathVariable.class.getName().equals(annotation.getTypeName())) {
+                    continue;
+                }
+                String name = getString(annotation, "value");
+                if (name.isEmpty()) {
+                    name = getString(annotation, "name");
+                }
+                if (name.isEmpty()) {
+                    name = getParameterName(methodInfo, parameterDescriptors, i);
+                }
+                if (name != null && !name.isEmpty()) {
+                    pathVariables.add(new PathVariableModel(name, parameterDescriptors.get(i)));
+                }
+            }
+        }
+        return pathVariables;
+    }
+
+    private String getParameterName(MethodInfo methodInfo, List<String> parameterDescriptors, int parameter) {
+        MethodParametersAttribute methodParameters = (MethodParametersAttribute) methodInfo
+                .getAttribute(MethodParametersAttribute.tag);
+        if (methodParameters != null && parameter < methodParameters.size()
+                && methodParameters.name(parameter) != 0) {
+            return methodParameters.getConstPool().getUtf8Info(methodParameters.name(parameter));
+        }
+        CodeAttribute code = methodInfo.getCodeAttribute();
+        LocalVariableAttribute localVariables = code == null ? null : (LocalVariableAttribute) code
+                .getAttribute(LocalVariableAttribute.tag);
+        if (localVariables == null) {
+            return null;
+        }
+        // Parameters take the first local variable slots, after 'this' of an instance method
+        int slot = (methodInfo.getAccessFlags() & AccessFlag.STATIC) != 0 ? 0 : 1;
+        for (int i = 0; i < parameter; i++) {
+            String descriptor = parameterDescriptors.get(i);
+            slot += "J".equals(descriptor) || "D".equals(descriptor) ? 2 : 1;
+        }
+        for (int i = 0; i < localVariables.tableLength(); i++) {
+            if (localVariables.index(i) == slot && localVariables.startPc(i) == 0) {
+                return localVariables.variableName(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Split a method descriptor into the descriptors of its parameters. eg: (JLjava/lang/String;[I)V results in
+     * J, Ljava/lang/String; and [I
+     *
+     * @param methodDescriptor method descriptor
+     * @return parameter descriptors
+     */
+    private List<String> getParameterDescriptors(String methodDescriptor) {
+        List<String> descriptors = new ArrayList<>();
+        int i = 1;
+        while (i < methodDescriptor.length() && methodDescriptor.charAt(i) != ')') {
+            int start = i;
+            while (methodDescriptor.charAt(i) == '[') {
+                i++;
+            }
+            if (methodDescriptor.charAt(i) == 'L') {
+                i = methodDescriptor.indexOf(';', i);
+            }
+            descriptors.add(methodDescriptor.substring(start, ++i));
+        }
+        return descriptors;
+    }
+
+    private String getString(Annotation annotation, String member) {
+        MemberValue memberValue = annotation.getMemberValue(member);
+        return memberValue instanceof StringMemberValue ? ((StringMemberValue) memberValue).getValue() : "";
+    }
+
+    /**
+     * Returns the values of an array typed annotation member. Members which are not present in the class file
+     * have their default value, which is an empty array for all the spring mapping annotation members.
+     *
+     * @param annotation annotation to read, may be null
+     * @param member     member name
+     * @return string or enum constant values of the member
+     */
+    private String[] getStringArray(Annotation annotation, String member) {
+        if (annotation == null || !(annotation.getMemberValue(member) instanceof ArrayMemberValue)) {
+            return new String[0];
+        }
+        MemberValue[] memberValues = ((ArrayMemberValue) annotation.getMemberValue(member)).getValue();
+        String[] values = new String[memberValues.length];
+        for (int i = 0; i < memberValues.length; i++) {
+            if (memberValues[i] instanceof EnumMemberValue) {
+                values[i] = ((EnumMemberValue) memberValues[i]).getValue();
+            } else {
+                values[i] = ((StringMemberValue) memberValues[i]).getValue();
+            }
+        }
+        return values;
+    }
+}
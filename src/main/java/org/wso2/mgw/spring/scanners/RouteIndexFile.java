@@ -0,0 +1,211 @@
+package org.wso2.mgw.spring.scanners;
+
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.wso2.mgw.spring.RequestMethodType;
+import org.wso2.mgw.spring.models.PathVariableModel;
+import org.wso2.mgw.spring.models.ResourceMapperModel;
+import org.wso2.mgw.spring.models.ResourceMethodModel;
+import org.wso2.mgw.spring.models.ServiceClassModel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and writes the route index emitted by the {@link org.wso2.mgw.spring.processors.RouteIndexProcessor} during
+ * compilation. The index is a UTF-8 text file with a record per line and tab separated fields.
+ * <pre>
+ * C  class-name  base-paths
+ * M  class-name  method-name  descriptor  request-method-type  name  value  path  method  params  headers
+ *    consumes  produces  path-variables
+ * </pre>
+ * Array fields are written as elements each terminated by a ',', hence an empty array is an empty field. Path
+ * variables are written as name=descriptor elements.
+ */
+public class RouteIndexFile {
+
+    public static final String LOCATION = "META-INF/mgw-spring/routes.idx";
+    private static final String HEADER = "# mgw-spring route index v2";
+    private static final String SERVICE_CLASS_RECORD = "C";
+    private static final String RESOURCE_METHOD_RECORD = "M";
+    private static final char FIELD_SEPARATOR = '\t';
+    private static final char ELEMENT_TERMINATOR = ',';
+    private static final char PATH_VARIABLE_SEPARATOR = '=';
+
+    /**
+     * Write the given controllers and their mapped methods.
+     *
+     * @param writer          writer of the index file
+     * @param serviceClasses  spring controller classes
+     * @param resourceMethods mapped methods of the controller classes
+     * @throws IOException if the index cannot be written
+     */
+    public static void write(Writer writer, Collection<ServiceClassModel> serviceClasses,
+            Collection<ResourceMethodModel> resourceMethods) throws IOException {
+        writer.write(HEADER);
+        writer.write('\n');
+        for (ServiceClassModel serviceClass : serviceClasses) {
+            writeFields(writer, SERVICE_CLASS_RECORD, escape(serviceClass.getName()),
+                    join(serviceClass.getBasePaths()));
+        }
+        for (ResourceMethodModel resourceMethod : resourceMethods) {
+            ResourceMapperModel mapper = resourceMethod.getResourceMapperModel();
+            String[] methods = new String[mapper.getMethod().length];
+            for (int i = 0; i < methods.length; i++) {
+                methods[i] = mapper.getMethod()[i].name();
+            }
+            String[] pathVariables = new String[resourceMethod.getPathVariables().size()];
+            for (int i = 0; i < pathVariables.length; i++) {
+                PathVariableModel pathVariable = resourceMethod.getPathVariables().get(i);
+                pathVariables[i] = pathVariable.getName() + PATH_VARIABLE_SEPARATOR + pathVariable.getDescriptor();
+            }
+            writeFields(writer, RESOURCE_METHOD_RECORD, escape(resourceMethod.getDeclaringClassName()),
+                    escape(resourceMethod.getName()), escape(resourceMethod.getDescriptor()),
+                    resourceMethod.getRequestMethodType().name(), escape(mapper.getName()), join(mapper.getValue()),
+                    join(mapper.getPath()), join(methods), join(mapper.getParams()), join(mapper.getHeaders()),
+                    join(mapper.getConsumes()), join(mapper.getProduces()), join(pathVariables));
+        }
+    }
+
+    /**
+     * Read an index file.
+     *
+     * @param reader          reader of the index file
+     * @param serviceClasses  list to which the controller classes are added
+     * @param resourceMethods list to which the mapped methods are added
+     * @throws IOException if the index cannot be read or is not in the expected format
+     */
+    public static void read(BufferedReader reader, List<ServiceClassModel> serviceClasses,
+            List<ResourceMethodModel> resourceMethods) throws IOException {
+        if (!HEADER.equals(reader.readLine())) {
+            throw new IOException("Unsupported route index format");
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split(String.valueOf(FIELD_SEPARATOR), -1);
+            try {
+                if (SERVICE_CLASS_RECORD.equals(fields[0]) && fields.length == 3) {
+                    serviceClasses.add(new ServiceClassModel(unescape(fields[1]), split(fields[2])));
+                } else if (RESOURCE_METHOD_RECORD.equals(fields[0]) && fields.length == 14) {
+                    String[] methodNames = split(fields[8]);
+                    RequestMethod[] methods = new RequestMethod[methodNames.length];
+                    for (int i = 0; i < methods.length; i++) {
+                        methods[i] = RequestMethod.valueOf(methodNames[i]);
+                    }
+                    ResourceMapperModel mapper = new ResourceMapperModel.Builder(unescape(fields[5]))
+                            .value(split(fields[6])).path(split(fields[7])).method(methods).params(split(fields[9]))
+                            .headers(split(fields[10])).consumes(split(fields[11])).produces(split(fields[12]))
+                            .build();
+                    List<PathVariableModel> pathVariables = new ArrayList<>();
+                    for (String pathVariable : split(fields[13])) {
+                        // The descriptor never contains the separator, unlike the variable name
+                        int separatorIndex = pathVariable.lastIndexOf(PATH_VARIABLE_SEPARATOR);
+                        if (separatorIndex < 0) {
+                            throw new IOException("Invalid route index record : " + line);
+                        }
+                        pathVariables.add(new PathVariableModel(pathVariable.substring(0, separatorIndex),
+                                pathVariable.substring(separatorIndex + 1)));
+                    }
+                    resourceMethods.add(new ResourceMethodModel(unescape(fields[1]), unescape(fields[2]),
+                            unescape(fields[3]), RequestMethodType.valueOf(fields[4]), mapper, pathVariables));
+                } else {
+                    throw new IOException("Invalid route index record : " + line);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid route index record : " + line, e);
+            }
+        }
+    }
+
+    private static void writeFields(Writer writer, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(FIELD_SEPARATOR);
+            }
+            writer.write(fields[i]);
+        }
+        writer.write('\n');
+    }
+
+    private static String join(String[] values) {
+        StringBuilder joined = new StringBuilder();
+        for (String value : values) {
+            joined.append(escape(value)).append(ELEMENT_TERMINATOR);
+        }
+        return joined.toString();
+    }
+
+    private static String[] split(String field) throws IOException {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '\\' && i + 1 < field.length()) {
+                value.append(c).append(field.charAt(++i));
+            } else if (c == ELEMENT_TERMINATOR) {
+                values.add(unescape(value.toString()));
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (value.length() > 0) {
+            throw new IOException("Unterminated route index array : " + field);
+        }
+        return values.toArray(new String[0]);
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+            case '\\':
+                escaped.append("\\\\");
+                break;
+            case '\t':
+                escaped.append("\\t");
+                break;
+            case '\n':
+                escaped.append("\\n");
+                break;
+            case '\r':
+                escaped.append("\\r");
+                break;
+            case ELEMENT_TERMINATOR:
+                escaped.append("\\,");
+                break;
+            default:
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String unescape(String value) {
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char escapedChar = value.charAt(++i);
+                if (escapedChar == 't') {
+                    unescaped.append('\t');
+                } else if (escapedChar == 'n') {
+                    unescaped.append('\n');
+                } else if (escapedChar == 'r') {
+                    unescaped.append('\r');
+                } else {
+                    unescaped.append(escapedChar);
+                }
+            } else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+}
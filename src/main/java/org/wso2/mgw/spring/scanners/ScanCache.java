@@ -0,0 +1,130 @@
+package org.wso2.mgw.spring.scanners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * On disk index of the previous scan, keyed by the class file location. A class file is parsed again only when its
+ * fingerprint differs from the recorded one. Entries of the class files which are not visited during a scan are
+ * dropped when the cache is saved, hence deleted classes do not survive to the next run. The cache can be updated
+ * concurrently by the scanning threads.
+ */
+public class ScanCache {
+    private static final Logger log = LoggerFactory.getLogger(ScanCache.class);
+
+    private static final int CACHE_VERSION = 3;
+
+    private Path cacheFile;
+    private Map<String, ScanCacheEntry> previousEntries;
+    private Map<String, ScanCacheEntry> entries = new ConcurrentHashMap<>();
+    private AtomicInteger reusedCount = new AtomicInteger();
+    private AtomicInteger parsedCount = new AtomicInteger();
+
+    private ScanCache(Path cacheFile, Map<String, ScanCacheEntry> previousEntries) {
+        this.cacheFile = cacheFile;
+        this.previousEntries = previousEntries;
+    }
+
+    /**
+     * Load the cache written by the previous run. An empty cache is returned if the file does not exist or was
+     * written by an incompatible plugin version.
+     *
+     * @param cacheFile location of the cache file
+     * @return the loaded cache
+     */
+    @SuppressWarnings("unchecked")
+    public static ScanCache load(Path cacheFile) {
+        Map<String, ScanCacheEntry> previousEntries = new HashMap<>();
+        if (Files.isRegularFile(cacheFile)) {
+            try (ObjectInputStream in = new ObjectInputStream(
+                    new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+                if (in.readInt() == CACHE_VERSION) {
+                    previousEntries = (Map<String, ScanCacheEntry>) in.readObject();
+                }
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                log.warn("Discarding the scan cache '" + cacheFile + "' as it cannot be read : " + e.getMessage());
+                log.debug("Error while reading the scan cache", e);
+            }
+        }
+        return new ScanCache(cacheFile, previousEntries);
+    }
+
+    /**
+     * Returns the recorded entry of the given class file if it has the same size and modified time.
+     *
+     * @param key          location of the class file
+     * @param size         current size of the class file
+     * @param lastModified current modified time of the class file
+     * @return the recorded entry or null if the class file may have changed
+     */
+    ScanCacheEntry getIfUnmodified(String key, long size, long lastModified) {
+        ScanCacheEntry entry = previousEntries.get(key);
+        if (entry != null && entry.getSize() == size && entry.getLastModified() == lastModified) {
+            return entry;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the recorded entry of the given class file if it has the same size and content hash.
+     *
+     * @param key  location of the class file
+     * @param size current size of the class file
+     * @param hash current content hash of the class file
+     * @return the recorded entry or null if the class file has changed
+     */
+    ScanCacheEntry getIfSameContent(String key, long size, String hash) {
+        ScanCacheEntry entry = previousEntries.get(key);
+        if (entry != null && entry.getSize() == size && entry.getHash().equals(hash)) {
+            return entry;
+        }
+        return null;
+    }
+
+    void reuse(String key, ScanCacheEntry entry) {
+        entries.put(key, entry);
+        reusedCount.incrementAndGet();
+    }
+
+    void put(String key, ScanCacheEntry entry) {
+        entries.put(key, entry);
+        parsedCount.incrementAndGet();
+    }
+
+    int getReusedCount() {
+        return reusedCount.get();
+    }
+
+    int getParsedCount() {
+        return parsedCount.get();
+    }
+
+    /**
+     * Write the entries of the class files visited in this run to the cache file.
+     *
+     * @throws IOException if the cache file cannot be written
+     */
+    public void save() throws IOException {
+        Files.createDirectories(cacheFile.getParent());
+        Path tempFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(CACHE_VERSION);
+            out.writeObject(new HashMap<>(entries));
+        }
+        Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
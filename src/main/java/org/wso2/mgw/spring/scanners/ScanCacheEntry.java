@@ -0,0 +1,88 @@
+package org.wso2.mgw.spring.scanners;
+
+import org.wso2.mgw.spring.models.ResourceMethodModel;
+import org.wso2.mgw.spring.models.ServiceClassModel;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The mapping metadata extracted from a single class file together with the fingerprint of that class file.
+ * Classes which are not spring controllers are also recorded, with no service class, so that they are not parsed
+ * again while they stay unchanged. Annotation types and annotated classes also record their class level annotations,
+ * so that controllers annotated with a custom stereotype are resolved once every class is scanned.
+ */
+class ScanCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long size;
+    private long lastModified;
+    private String hash;
+    private ServiceClassModel serviceClass;
+    private List<ResourceMethodModel> resourceMethods = new ArrayList<>();
+    private String annotationType;
+    private String[] classAnnotations;
+
+    long getSize() {
+        return size;
+    }
+
+    long getLastModified() {
+        return lastModified;
+    }
+
+    String getHash() {
+        return hash;
+    }
+
+    void setFingerprint(long size, long lastModified, String hash) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.hash = hash;
+    }
+
+    ServiceClassModel getServiceClass() {
+        return serviceClass;
+    }
+
+    void setServiceClass(ServiceClassModel serviceClass) {
+        this.serviceClass = serviceClass;
+    }
+
+    List<ResourceMethodModel> getResourceMethods() {
+        return resourceMethods;
+    }
+
+    void addResourceMethod(ResourceMethodModel resourceMethod) {
+        resourceMethods.add(resourceMethod);
+    }
+
+    /**
+     * Returns the name of the class if it is an annotation type, which may be a custom stereotype.
+     *
+     * @return annotation type name, or null if the class is not an annotation type
+     */
+    String getAnnotationType() {
+        return annotationType;
+    }
+
+    void setAnnotationType(String annotationType) {
+        this.annotationType = annotationType;
+    }
+
+    /**
+     * Returns the class level annotations of an annotation type, or of a class which is a controller only if one of
+     * its annotations is a custom stereotype.
+     *
+     * @return class level annotation type names, or null if the class is a controller by itself
+     */
+    String[] getClassAnnotations() {
+        return classAnnotations;
+    }
+
+    void setClassAnnotations(String[] classAnnotations) {
+        this.classAnnotations = classAnnotations;
+    }
+}
@@ -0,0 +1,169 @@
+package org.wso2.mgw.spring.scanners;
+
+import org.wso2.mgw.spring.models.ScanScopeModel;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which classpath roots and which packages are scanned for spring controllers. The project output
+ * directory is always scanned, the classes of dependency jars are skipped unless they are explicitly selected.
+ */
+public class ScanScope {
+
+    private static final String ANY_SUB_PACKAGE = ".**";
+
+    private List<Pattern> packageIncludes = new ArrayList<>();
+    private List<Pattern> packageExcludes = new ArrayList<>();
+    private List<Pattern> jarIncludes = new ArrayList<>();
+    private List<Pattern> jarExcludes = new ArrayList<>();
+    private Set<String> modules;
+    private Set<String> packagePaths = new LinkedHashSet<>();
+    private boolean includeDependencies;
+
+    /**
+     * Initialize the scope from the plugin configuration.
+     *
+     * @param packageName    root package of the spring services. Used when no package includes are configured
+     * @param scanScopeModel scope configuration
+     */
+    public ScanScope(String packageName, ScanScopeModel scanScopeModel) {
+        List<String> includes = nullToEmpty(scanScopeModel.getIncludes());
+        if (includes.isEmpty()) {
+            includes = Collections.singletonList(packageName + ANY_SUB_PACKAGE);
+        }
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (String include : includes) {
+            packageIncludes.add(Pattern.compile(packageGlobToRegex(include)));
+            prefixes.add(getStaticPrefix(include).replace('.', '/'));
+        }
+        // Nested prefixes are dropped so that a class file is not visited twice
+        for (String prefix : prefixes) {
+            if (prefixes.stream().noneMatch(other -> !other.equals(prefix)
+                    && (other.isEmpty() || prefix.startsWith(other + "/")))) {
+                packagePaths.add(prefix);
+            }
+        }
+        for (String exclude : nullToEmpty(scanScopeModel.getExcludes())) {
+            packageExcludes.add(Pattern.compile(packageGlobToRegex(exclude)));
+        }
+        for (String include : nullToEmpty(scanScopeModel.getJarIncludes())) {
+            jarIncludes.add(Pattern.compile(fileGlobToRegex(include)));
+        }
+        for (String exclude : nullToEmpty(scanScopeModel.getJarExcludes())) {
+            jarExcludes.add(Pattern.compile(fileGlobToRegex(exclude)));
+        }
+        modules = new LinkedHashSet<>(nullToEmpty(scanScopeModel.getModules()));
+        includeDependencies = scanScopeModel.isIncludeDependencies();
+    }
+
+    /**
+     * Returns whether the classes of the given dependency are scanned.
+     *
+     * @param artifactId artifact id of the dependency
+     * @param file       resolved jar file or the output directory of a reactor module
+     * @return true if the dependency is in the scope
+     */
+    public boolean isDependencyIncluded(String artifactId, File file) {
+        if (modules.contains(artifactId)) {
+            return true;
+        }
+        String fileName = file.getName();
+        if (jarExcludes.stream().anyMatch(pattern -> pattern.matcher(fileName).matches())) {
+            return false;
+        }
+        return includeDependencies || jarIncludes.stream().anyMatch(pattern -> pattern.matcher(fileName).matches());
+    }
+
+    /**
+     * Returns the directories, relative to a classpath root, under which the included packages are located.
+     *
+     * @return '/' separated package paths
+     */
+    Set<String> getPackagePaths() {
+        return packagePaths;
+    }
+
+    /**
+     * Returns whether the class file at the given path, relative to its classpath root, is in the scope.
+     *
+     * @param classFilePath '/' separated path of the class file
+     * @return true if the package of the class is included and not excluded
+     */
+    boolean isClassIncluded(String classFilePath) {
+        int lastSeparator = classFilePath.lastIndexOf('/');
+        String packageName = lastSeparator > 0 ? classFilePath.substring(0, lastSeparator).replace('/', '.') : "";
+        return packageIncludes.stream().anyMatch(pattern -> pattern.matcher(packageName).matches())
+                && packageExcludes.stream().noneMatch(pattern -> pattern.matcher(packageName).matches());
+    }
+
+    /**
+     * Converts a package glob to a regex. '*' matches within a single package name and a trailing '.**' matches the
+     * package itself and all of its sub packages.
+     *
+     * @param glob package glob. eg: com.example.*.api.**
+     * @return the equivalent regex
+     */
+    private static String packageGlobToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        String pattern = glob.trim();
+        boolean anySubPackage = pattern.endsWith(ANY_SUB_PACKAGE);
+        if (anySubPackage) {
+            pattern = pattern.substring(0, pattern.length() - ANY_SUB_PACKAGE.length());
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' && i + 1 < pattern.length() && pattern.charAt(i + 1) == '*') {
+                regex.append(".*");
+                i++;
+            } else if (c == '*') {
+                regex.append("[^.]*");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        if (anySubPackage) {
+            regex.append("(\\..*)?");
+        }
+        return regex.toString();
+    }
+
+    private static String fileGlobToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.trim().toCharArray()) {
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+
+    /**
+     * Returns the leading package names of the glob which do not contain wildcards.
+     *
+     * @param glob package glob
+     * @return the static package prefix. Empty if the glob starts with a wildcard
+     */
+    private static String getStaticPrefix(String glob) {
+        String pattern = glob.trim();
+        int wildcard = pattern.indexOf('*');
+        if (wildcard < 0) {
+            return pattern;
+        }
+        int lastSeparator = pattern.lastIndexOf('.', wildcard);
+        return lastSeparator > 0 ? pattern.substring(0, lastSeparator) : "";
+    }
+
+    private static List<String> nullToEmpty(List<String> list) {
+        return list != null ? list : Collections.emptyList();
+    }
+}
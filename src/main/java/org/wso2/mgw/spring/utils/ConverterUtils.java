@@ -1,12 +1,15 @@
 package org.wso2.mgw.spring.utils;
 
-import io.swagger.converter.ModelConverters;
-import io.swagger.models.properties.Property;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.core.util.Yaml;
 import io.swagger.v3.oas.models.OpenAPI;
 import org.wso2.mgw.spring.constants.PluginConstants;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
 
 public class ConverterUtils {
 
@@ -14,26 +17,18 @@ public class ConverterUtils {
         return Yaml.pretty(openAPI);
     }
 
-    public static boolean isPrimitive(Type cls) {
-        boolean isPrimitive = false;
-
-        Property property = ModelConverters.getInstance().readAsProperty(cls);
-        if (property == null) {
-            isPrimitive = false;
-        } else if (PluginConstants.INTEGER_TYPE.equals(property.getType())) {
-            isPrimitive = true;
-        } else if (PluginConstants.STRING_TYPE.equals(property.getType())) {
-            isPrimitive = true;
-        } else if (PluginConstants.NUMBER_TYPE.equals(property.getType())) {
-            isPrimitive = true;
-        } else if (PluginConstants.BOOLEAN_TYPE.equals(property.getType())) {
-            isPrimitive = true;
-        } else if (PluginConstants.ARRAY_TYPE.equals(property.getType())) {
-            isPrimitive = true;
-        } else if (PluginConstants.FILE_TYPE.equals(property.getType())) {
-            isPrimitive = true;
-        }
-        return isPrimitive;
+    /**
+     * Serialize the given open API definition directly to the writer, without building the definition as a string.
+     *
+     * @param openAPI open API definition
+     * @param format  {@link PluginConstants#OPENAPI_FORMAT_JSON} for compact JSON, otherwise pretty printed YAML
+     * @param writer  writer of the definition file. The writer is not closed
+     * @throws IOException if the definition cannot be written
+     */
+    public static void writeOpenAPI(OpenAPI openAPI, String format, Writer writer) throws IOException {
+        ObjectWriter objectWriter = PluginConstants.OPENAPI_FORMAT_JSON.equalsIgnoreCase(format) ?
+                Json.mapper().writer() : Yaml.pretty();
+        objectWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(writer, openAPI);
     }
 
     public static boolean isPrimitive(String type) {
@@ -54,4 +49,49 @@ public class ConverterUtils {
         return isPrimitive;
     }
 
+    /**
+     * Returns the JVM descriptor of the given method. eg: (Ljava/lang/String;I)Ljava/util/List;
+     *
+     * @param method method to describe
+     * @return method descriptor
+     */
+    public static String getMethodDescriptor(Method method) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            appendTypeDescriptor(descriptor, parameterType);
+        }
+        descriptor.append(')');
+        appendTypeDescriptor(descriptor, method.getReturnType());
+        return descriptor.toString();
+    }
+
+    /**
+     * Returns the JVM descriptor of the given type. eg: J, Ljava/lang/String;
+     *
+     * @param type type to describe
+     * @return type descriptor
+     */
+    public static String getTypeDescriptor(Class<?> type) {
+        StringBuilder descriptor = new StringBuilder();
+        appendTypeDescriptor(descriptor, type);
+        return descriptor.toString();
+    }
+
+    private static void appendTypeDescriptor(StringBuilder descriptor, Class<?> type) {
+        if (type.isArray()) {
+            descriptor.append(type.getName().replace('.', '/'));
+        } else if (type.isPrimitive()) {
+            if (type == void.class) {
+                descriptor.append('V');
+            } else if (type == boolean.class) {
+                descriptor.append('Z');
+            } else if (type == long.class) {
+                descriptor.append('J');
+            } else {
+                descriptor.append(Character.toUpperCase(type.getName().charAt(0)));
+            }
+        } else {
+            descriptor.append('L').append(type.getName().replace('.', '/')).append(';');
+        }
+    }
 }
@@ -0,0 +1,30 @@
+package org.wso2.mgw.spring.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class FileUtils {
+
+    /**
+     * Delete the given file, or the given directory with its content.
+     *
+     * @param path file or directory to be deleted
+     * @throws IOException if a file cannot be deleted
+     */
+    public static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            List<Path> sortedPaths = paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+            for (Path sortedPath : sortedPaths) {
+                Files.deleteIfExists(sortedPath);
+            }
+        }
+    }
+}
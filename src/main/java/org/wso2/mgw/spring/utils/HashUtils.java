@@ -0,0 +1,46 @@
+package org.wso2.mgw.spring.utils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class HashUtils {
+
+    private static final String SHA_256 = "SHA-256";
+
+    /**
+     * Returns a new SHA-256 message digest.
+     *
+     * @return message digest
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(SHA_256);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(SHA_256 + " is not supported by the JVM", e);
+        }
+    }
+
+    /**
+     * Returns the hex encoded SHA-256 hash of the given content.
+     *
+     * @param content content to be hashed
+     * @return hex encoded hash
+     */
+    public static String hash(byte[] content) {
+        return toHex(newDigest().digest(content));
+    }
+
+    /**
+     * Hex encode the given digest.
+     *
+     * @param digest digest bytes
+     * @return hex encoded digest
+     */
+    public static String toHex(byte[] digest) {
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
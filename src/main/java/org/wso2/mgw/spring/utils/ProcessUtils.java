@@ -0,0 +1,48 @@
+package org.wso2.mgw.spring.utils;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ProcessUtils {
+
+    /**
+     * Forcibly destroy the process and every process started by it. The toolkit script starts a JVM, which is not
+     * destroyed with the script. The descendants are found through the process handle of java 9 and later, which
+     * is looked up reflectively as the plugin is compiled for java 8. On java 8 only the process itself is destroyed.
+     *
+     * @param process process to be destroyed
+     */
+    public static void destroyProcessTree(Process process) {
+        List<?> descendants = getDescendants(process);
+        process.destroyForcibly();
+        if (descendants.isEmpty()) {
+            return;
+        }
+        try {
+            Method destroyForcibly = Class.forName("java.lang.ProcessHandle").getMethod("destroyForcibly");
+            for (Object descendant : descendants) {
+                destroyForcibly.invoke(descendant);
+            }
+        } catch (ReflectiveOperationException e) {
+            // The descendants are found only if the process handle is available
+        }
+    }
+
+    /**
+     * Returns the process handles of the descendants, which are collected before the process is destroyed, as the
+     * descendants are no longer related to the process once it exits.
+     */
+    private static List<?> getDescendants(Process process) {
+        try {
+            Object handle = Process.class.getMethod("toHandle").invoke(process);
+            Stream<?> descendants = (Stream<?>) Class.forName("java.lang.ProcessHandle").getMethod("descendants")
+                    .invoke(handle);
+            return descendants.collect(Collectors.toList());
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return Collections.emptyList();
+        }
+    }
+}
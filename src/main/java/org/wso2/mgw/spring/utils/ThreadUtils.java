@@ -0,0 +1,52 @@
+package org.wso2.mgw.spring.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+public class ThreadUtils {
+
+    private static final Method OF_VIRTUAL = getVirtualThreadMethod(Thread.class, "ofVirtual");
+    private static final Method BUILDER_NAME = getVirtualThreadMethod("java.lang.Thread$Builder", "name",
+            String.class);
+    private static final Method BUILDER_UNSTARTED = getVirtualThreadMethod("java.lang.Thread$Builder", "unstarted",
+            Runnable.class);
+
+    /**
+     * Returns a new unstarted thread for a task which mostly waits on I/O. The thread is a virtual thread if the JVM
+     * supports virtual threads, otherwise a daemon platform thread. The plugin is compiled for java 8, hence the
+     * virtual thread builder is looked up reflectively.
+     *
+     * @param name thread name
+     * @param task task run by the thread
+     * @return unstarted thread
+     */
+    public static Thread newLightweightThread(String name, Runnable task) {
+        if (OF_VIRTUAL != null && BUILDER_NAME != null && BUILDER_UNSTARTED != null) {
+            try {
+                Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name);
+                return (Thread) BUILDER_UNSTARTED.invoke(builder, task);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                // eg: virtual threads are a preview feature of the JVM which is not enabled
+            }
+        }
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static Method getVirtualThreadMethod(String className, String name, Class<?>... parameterTypes) {
+        try {
+            return getVirtualThreadMethod(Class.forName(className), name, parameterTypes);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method getVirtualThreadMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.wso2.mgw.spring.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class ToolkitUtils {
+
+    private static final String VERSION_FILE = "version.txt";
+    private static final String JAVA_RELEASE_FILE = "release";
+    private static final String JAVA_VERSION_PROPERTY = "JAVA_VERSION";
+
+    /**
+     * Returns the version of the micro gateway toolkit. The version is read from the version file of the toolkit,
+     * or else the toolkit directory name is used, which contains the version in the toolkit distributions.
+     * eg: wso2am-micro-gw-toolkit-linux-3.1.0
+     *
+     * @param toolkitHome toolkit home directory
+     * @return toolkit version
+     */
+    public static String getToolkitVersion(String toolkitHome) {
+        Path toolkitPath = Paths.get(toolkitHome).toAbsolutePath().normalize();
+        for (Path versionFile : new Path[] { toolkitPath.resolve(VERSION_FILE),
+                toolkitPath.resolve("bin").resolve(VERSION_FILE) }) {
+            if (!Files.isRegularFile(versionFile)) {
+                continue;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(versionFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        return line.trim();
+                    }
+                }
+            } catch (IOException e) {
+                // The directory name is used instead
+            }
+        }
+        return toolkitPath.getFileName() != null ? toolkitPath.getFileName().toString() : toolkitPath.toString();
+    }
+
+    /**
+     * Returns the version of the java installation, read from its release file.
+     *
+     * @param javaHome java installation directory
+     * @return java version, eg: 1.8.0_292 or 17.0.2, or null if the version is unknown
+     */
+    public static String getJavaVersion(String javaHome) {
+        if (javaHome == null) {
+            return null;
+        }
+        Path releaseFile = Paths.get(javaHome, JAVA_RELEASE_FILE);
+        if (!Files.isRegularFile(releaseFile)) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(releaseFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(JAVA_VERSION_PROPERTY + "=")) {
+                    return line.substring(JAVA_VERSION_PROPERTY.length() + 1).replace("\"", "").trim();
+                }
+            }
+        } catch (IOException e) {
+            // The version is unknown
+        }
+        return null;
+    }
+
+    /**
+     * Returns the feature version of the given java version. eg: 8 for 1.8.0_292 and 17 for 17.0.2
+     *
+     * @param javaVersion java version
+     * @return feature version, or zero if the version cannot be parsed
+     */
+    public static int getJavaFeatureVersion(String javaVersion) {
+        if (javaVersion == null) {
+            return 0;
+        }
+        String[] parts = javaVersion.split("[._+-]");
+        try {
+            int feature = Integer.parseInt(parts[0]);
+            return feature == 1 && parts.length > 1 ? Integer.parseInt(parts[1]) : feature;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.wso2.mgw.spring.utils;
+
+import io.swagger.v3.core.util.PrimitiveType;
+import org.wso2.mgw.spring.constants.PluginConstants;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classify java types into open API data types without running a model conversion. The JDK primitives, their
+ * wrappers and the common value types are looked up from a static table, and the other JDK types are classified once
+ * and memoized. The types of the project and its dependencies are not memoized, as the memo would hold their class
+ * loaders for the life of the plugin; their classifications are memoized per build by the {@code SchemaRegistry}.
+ */
+public class TypeClassifier {
+
+    private static final Map<Class<?>, String> DATA_TYPES = new HashMap<>();
+    private static final Map<Class<?>, String> DATA_FORMATS = new HashMap<>();
+    private static final Map<String, Class<?>> DESCRIPTOR_TYPES = new HashMap<>();
+    private static final Map<Class<?>, Optional<String>> resolvedJdkDataTypes = new ConcurrentHashMap<>();
+
+    static {
+        addDataType(PluginConstants.BOOLEAN_TYPE, boolean.class, Boolean.class);
+        addDataType(PluginConstants.INTEGER_TYPE, byte.class, Byte.class, short.class, Short.class, int.class,
+                Integer.class, long.class, Long.class, BigInteger.class);
+        addDataType(PluginConstants.NUMBER_TYPE, float.class, Float.class, double.class, Double.class,
+                BigDecimal.class, Number.class);
+        addDataType(PluginConstants.STRING_TYPE, char.class, Character.class, String.class, byte[].class,
+                Date.class, java.sql.Date.class, java.sql.Timestamp.class, java.time.LocalDate.class,
+                java.time.LocalDateTime.class, java.time.LocalTime.class, java.time.OffsetDateTime.class,
+                java.time.ZonedDateTime.class, java.time.Instant.class, UUID.class, URI.class, URL.class);
+        addDataType(PluginConstants.FILE_TYPE, File.class);
+
+        addDataFormat("int32", byte.class, Byte.class, short.class, Short.class, int.class, Integer.class);
+        addDataFormat("int64", long.class, Long.class);
+        addDataFormat("float", float.class, Float.class);
+        addDataFormat("double", double.class, Double.class);
+        addDataFormat("byte", byte[].class);
+        addDataFormat("date", java.sql.Date.class, java.time.LocalDate.class);
+        addDataFormat("date-time", Date.class, java.sql.Timestamp.class, java.time.LocalDateTime.class,
+                java.time.OffsetDateTime.class, java.time.ZonedDateTime.class, java.time.Instant.class);
+        addDataFormat("uuid", UUID.class);
+        addDataFormat("uri", URI.class, URL.class);
+
+        DATA_TYPES.keySet().forEach(type -> DESCRIPTOR_TYPES.put(ConverterUtils.getTypeDescriptor(type), type));
+    }
+
+    private static void addDataType(String dataType, Class<?>... types) {
+        for (Class<?> type : types) {
+            DATA_TYPES.put(type, dataType);
+        }
+    }
+
+    private static void addDataFormat(String dataFormat, Class<?>... types) {
+        for (Class<?> type : types) {
+            DATA_FORMATS.put(type, dataFormat);
+        }
+    }
+
+    /**
+     * Returns the type of the given JVM type descriptor if it is one of the JDK types known by the classifier. The
+     * type is looked up without loading any class.
+     *
+     * @param descriptor type descriptor. eg: J, Ljava/lang/Long;
+     * @return the type or null if it is not a known type
+     */
+    public static Class<?> getType(String descriptor) {
+        return DESCRIPTOR_TYPES.get(descriptor);
+    }
+
+    /**
+     * Returns the open API data format of the given type. eg: int64, date-time
+     *
+     * @param type java type
+     * @return open API data format or null if the type has no specific format
+     */
+    public static String getDataFormat(Class<?> type) {
+        return DATA_FORMATS.get(type);
+    }
+
+    /**
+     * Returns the open API data type of the given type if it is not an object. eg: string, integer, array
+     *
+     * @param type java type
+     * @return open API data type or null if the type is mapped to an object
+     */
+    public static String getDataType(Class<?> type) {
+        String dataType = DATA_TYPES.get(type);
+        if (dataType != null) {
+            return dataType;
+        }
+        if (type.getClassLoader() == null) {
+            // Loaded by the bootstrap loader, hence the type outlives any build
+            return resolvedJdkDataTypes.computeIfAbsent(type, TypeClassifier::resolveDataType).orElse(null);
+        }
+        return resolveDataType(type).orElse(null);
+    }
+
+    /**
+     * Returns whether the given type is mapped to an open API data type other than an object.
+     *
+     * @param type java type
+     * @return true if the type is not an object
+     */
+    public static boolean isPrimitive(Class<?> type) {
+        return getDataType(type) != null;
+    }
+
+    private static Optional<String> resolveDataType(Class<?> type) {
+        if (type.isArray() || Collection.class.isAssignableFrom(type)) {
+            return Optional.of(PluginConstants.ARRAY_TYPE);
+        }
+        if (type.isEnum() || CharSequence.class.isAssignableFrom(type)) {
+            return Optional.of(PluginConstants.STRING_TYPE);
+        }
+        if (type == void.class || type == Void.class) {
+            return Optional.empty();
+        }
+        PrimitiveType primitiveType = PrimitiveType.fromType(type);
+        if (primitiveType == null || primitiveType.createProperty() == null) {
+            return Optional.empty();
+        }
+        String dataType = primitiveType.createProperty().getType();
+        return ConverterUtils.isPrimitive(dataType) ? Optional.of(dataType) : Optional.empty();
+    }
+}